@@ -32,12 +32,18 @@ import com.stuntguy3000.minecraft.tictactoe.core.util.ActionBarUtil;
 import com.stuntguy3000.minecraft.tictactoe.event.BoardProtectionEvents;
 import com.stuntguy3000.minecraft.tictactoe.event.GameplayEvents;
 import com.stuntguy3000.minecraft.tictactoe.event.PlayerMovementEvents;
+import com.stuntguy3000.minecraft.tictactoe.event.WorldEvents;
+import com.stuntguy3000.minecraft.tictactoe.handler.AnimationHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.BoardHandler;
+import com.stuntguy3000.minecraft.tictactoe.handler.BotHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.ConfigHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.GameHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.MenuHandler;
+import com.stuntguy3000.minecraft.tictactoe.handler.WorkHandler;
+import io.mazenmc.menuapi.menu.MenuListener;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.event.HandlerList;
 
 import java.util.Objects;
 import java.util.logging.Level;
@@ -55,25 +61,35 @@ public final class PluginMain extends MinecraftPlugin {
     private GameHandler gameHandler;
     private BoardHandler boardHandler;
     private MenuHandler menuHandler;
+    private BotHandler botHandler;
+    private WorkHandler workHandler;
+    private AnimationHandler animationHandler;
 
     private ActionBarUtil actionBarUtil;
 
+    private BoardProtectionEvents boardProtectionEvents;
+    private PlayerMovementEvents playerMovementEvents;
+
     @Override
     public void registerHandlers() {
+        configHandler = new ConfigHandler();
+        workHandler = new WorkHandler();
+        workHandler.runLoop();
         actionBarUtil = new ActionBarUtil();
         actionBarUtil.runLoop();
-
-        configHandler = new ConfigHandler();
+        animationHandler = new AnimationHandler();
+        animationHandler.runLoop();
         gameHandler = new GameHandler();
         boardHandler = new BoardHandler();
         menuHandler = new MenuHandler();
+        botHandler = new BotHandler();
 
         configHandler.registerConfiguration(new MainConfig());
         configHandler.registerConfiguration(new BoardsConfig());
         configHandler.loadConfigurations();
+        configHandler.startWatching();
 
         boardHandler.loadBoards();
-        gameHandler.generateGames();
     }
 
     @Override
@@ -87,15 +103,36 @@ public final class PluginMain extends MinecraftPlugin {
     @Override
     public void registerEvents() {
         this.getServer().getPluginManager().registerEvents(new GameplayEvents(this), this);
+        this.getServer().getPluginManager().registerEvents(new WorldEvents(this), this);
+        this.getServer().getPluginManager().registerEvents(new MenuListener(), this);
 
-        if (MainConfig.getConfig().isBlockProtection()) {
+        updateOptionalEvents();
+    }
+
+    /**
+     * Registers or unregisters the optional event handlers to match the main config
+     */
+    public void updateOptionalEvents() {
+        MainConfig config = MainConfig.getConfig();
+
+        if (config.isBlockProtection() && boardProtectionEvents == null) {
             Bukkit.getLogger().log(Level.INFO, "[TicTacToe] Enabling block protection...");
-            this.getServer().getPluginManager().registerEvents(new BoardProtectionEvents(this), this);
+            boardProtectionEvents = new BoardProtectionEvents(this);
+            this.getServer().getPluginManager().registerEvents(boardProtectionEvents, this);
+        } else if (!config.isBlockProtection() && boardProtectionEvents != null) {
+            Bukkit.getLogger().log(Level.INFO, "[TicTacToe] Disabling block protection...");
+            HandlerList.unregisterAll(boardProtectionEvents);
+            boardProtectionEvents = null;
         }
 
-        if (MainConfig.getConfig().isPlayerMoveEvents()) {
+        if (config.isPlayerMoveEvents() && playerMovementEvents == null) {
             Bukkit.getLogger().log(Level.INFO, "[TicTacToe] Enabling player movement events...");
-            this.getServer().getPluginManager().registerEvents(new PlayerMovementEvents(this), this);
+            playerMovementEvents = new PlayerMovementEvents(this);
+            this.getServer().getPluginManager().registerEvents(playerMovementEvents, this);
+        } else if (!config.isPlayerMoveEvents() && playerMovementEvents != null) {
+            Bukkit.getLogger().log(Level.INFO, "[TicTacToe] Disabling player movement events...");
+            HandlerList.unregisterAll(playerMovementEvents);
+            playerMovementEvents = null;
         }
     }
 
@@ -106,6 +143,9 @@ public final class PluginMain extends MinecraftPlugin {
 
     @Override
     public void onDisable() {
-
+        // Make sure any queued saves make it to disk
+        if (configHandler != null) {
+            configHandler.shutdown();
+        }
     }
 }
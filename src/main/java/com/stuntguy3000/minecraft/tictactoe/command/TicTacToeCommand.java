@@ -26,6 +26,7 @@ package com.stuntguy3000.minecraft.tictactoe.command;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Board;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardGrid;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Game;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.Lang;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.Perm;
@@ -69,7 +70,7 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
                     Lang.sendMessage(sender, Lang.COMMAND_HELP_TITLE);
                     Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board list", "View a list of known boards");
                     Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board remove [id]", "Removes a board (either at location or by specifying an id)");
-                    Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board create", "Creates a board");
+                    Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board create [size] [win length]", "Creates a board (3x3 by default)");
                     Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board cancel", "Cancel board creation");
                     return true;
                 } else if (args[0].equalsIgnoreCase("leave")) {
@@ -84,6 +85,18 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
                         }
                     }
                     return true;
+                } else if (args[0].equalsIgnoreCase("bot")) {
+                    if (isPlayer(sender)) {
+                        Player player = (Player) sender;
+                        Game game = gameHandler.getGameForPlayer(player);
+
+                        if (game == null) {
+                            Lang.sendMessage(sender, Lang.ERROR_NOT_IN_GAME);
+                        } else if (!gameHandler.tryAddBotToGame(game)) {
+                            Lang.sendMessage(sender, Lang.ERROR_BOT_UNAVAILABLE);
+                        }
+                    }
+                    return true;
                 }
                 break;
             }
@@ -92,27 +105,7 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
                 if (args[0].equalsIgnoreCase("board") && Perm.tryPerm(sender, Perm.COMMAND_ADMIN)) {
                     // Create Subcommand
                     if (args[1].equalsIgnoreCase("create")) {
-                        if (isPlayer(sender)) {
-                            Player player = (Player) sender;
-                            UUID id = player.getUniqueId();
-
-                            // Is the player not in a game?
-                            if (pluginMain.getGameHandler().getGameForPlayer(player) != null) {
-                                return true;
-                            }
-
-                            // Is the player not a Board Creator?
-                            if (!boardHandler.isBoardCreator(id)) {
-                                // Start process
-                                boardHandler.addBoardCreator(id);
-
-                                player.sendMessage("");
-                                Lang.sendMessage(sender, Lang.COMMAND_BOARD_CREATE_START_L1);
-                                Lang.sendMessage(sender, Lang.COMMAND_BOARD_CREATE_START_L2, label);
-                                player.sendMessage("");
-                            }
-                        }
-
+                        startBoardCreation(sender, label, args);
                         return true;
                     } else if (args[1].equalsIgnoreCase("cancel")) {
                         if (isPlayer(sender)) {
@@ -162,6 +155,12 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
             case 3: {
                 // Board Command
                 if (args[0].equalsIgnoreCase("board") && Perm.tryPerm(sender, Perm.COMMAND_ADMIN)) {
+                    // Create Command with a size
+                    if (args[1].equalsIgnoreCase("create")) {
+                        startBoardCreation(sender, label, args);
+                        return true;
+                    }
+
                     // Remove Command with Arguments
                     if (args[1].equalsIgnoreCase("remove")) {
                         String boardIdInput = args[2];
@@ -186,6 +185,17 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
                 }
                 break;
             }
+            case 4: {
+                // Board Command
+                if (args[0].equalsIgnoreCase("board") && Perm.tryPerm(sender, Perm.COMMAND_ADMIN)) {
+                    // Create Command with a size and win length
+                    if (args[1].equalsIgnoreCase("create")) {
+                        startBoardCreation(sender, label, args);
+                        return true;
+                    }
+                }
+                break;
+            }
         }
 
         // Help Menu
@@ -195,6 +205,7 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
             Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "board", "Access board specific commands");
         }
 
+        Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "bot", "Play the current game against the computer");
         Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "leave", "Leave the current game");
         Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "version", "View plugin information");
         Lang.sendMessage(sender, Lang.COMMAND_HELP_ENTRY, label, "help", "View plugin commands");
@@ -202,6 +213,58 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
         return true;
     }
 
+    /**
+     * Begins the board creation process for a player
+     * <p>
+     * Expects the arguments "board create [size] [win length]".
+     *
+     * @param sender CommandSender the command sender
+     * @param label  String the command label
+     * @param args   String[] the command arguments
+     */
+    private void startBoardCreation(CommandSender sender, String label, String[] args) {
+        if (!isPlayer(sender)) {
+            return;
+        }
+
+        Player player = (Player) sender;
+        UUID id = player.getUniqueId();
+        BoardHandler boardHandler = pluginMain.getBoardHandler();
+
+        // Is the player not in a game?
+        if (pluginMain.getGameHandler().getGameForPlayer(player) != null) {
+            return;
+        }
+
+        // Parse the board shape
+        int size;
+        int winLength;
+
+        try {
+            size = args.length > 2 ? Integer.parseInt(args[2]) : BoardGrid.DEFAULT_SIZE;
+            winLength = args.length > 3 ? Integer.parseInt(args[3]) : size;
+        } catch (NumberFormatException e) {
+            size = 0;
+            winLength = 0;
+        }
+
+        if (!BoardGrid.isValid(size, winLength)) {
+            Lang.sendMessage(sender, Lang.ERROR_BOARD_SIZE, BoardGrid.MIN_SIZE, BoardGrid.MIN_SIZE, BoardGrid.MAX_SIZE, BoardGrid.MAX_SIZE, BoardGrid.MIN_WIN_LENGTH);
+            return;
+        }
+
+        // Is the player not a Board Creator?
+        if (!boardHandler.isBoardCreator(id)) {
+            // Start process
+            boardHandler.addBoardCreator(id, BoardGrid.of(size, winLength));
+
+            player.sendMessage("");
+            Lang.sendMessage(sender, Lang.COMMAND_BOARD_CREATE_START_L1, size, size, winLength);
+            Lang.sendMessage(sender, Lang.COMMAND_BOARD_CREATE_START_L2, label);
+            player.sendMessage("");
+        }
+    }
+
     private boolean isPlayer(CommandSender sender) {
         boolean player = (sender instanceof Player);
 
@@ -222,6 +285,7 @@ public class TicTacToeCommand implements CommandExecutor, TabExecutor {
                 case 1: {
                     List<String> commands = new ArrayList<>();
 
+                    commands.add("bot");
                     commands.add("leave");
                     commands.add("version");
                     commands.add("help");
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.bot;
+
+import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardGrid;
+
+/**
+ * A depth limited negamax search (with alpha-beta pruning) for any @see {BoardGrid}
+ * <p>
+ * The search deepens one turn at a time until it reaches the maximum depth, runs out of time or is cancelled, and
+ * returns the best move of the deepest search that completed. Positions at the depth limit are scored by how many
+ * lines each player could still complete. A search only reads the grid and its own state, so it is safe to run off
+ * the main thread.
+ */
+public class MoveSearch {
+    private static final int WIN_SCORE = 1_000_000;
+    private static final int CHECK_INTERVAL = 1023; // Check for cancellation every 1024 positions
+
+    private final BoardGrid grid;
+    private final SearchToken token;
+    private final long deadline;
+    private long positions;
+    private boolean aborted;
+
+    /**
+     * Creates a search
+     *
+     * @param grid            BoardGrid the shape of the board
+     * @param token           SearchToken the token used to abandon the search
+     * @param timeLimitMillis long how long the search may take (or 0 for no limit)
+     */
+    public MoveSearch(BoardGrid grid, SearchToken token, long timeLimitMillis) {
+        this.grid = grid;
+        this.token = token;
+        this.deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Searches for the best move in a position
+     *
+     * @param moverCells    long the squares of the player to move
+     * @param opponentCells long the squares of the other player
+     * @param maxDepth      int how many turns ahead to look
+     * @return int the best square to play, or -1 if there are no free squares or the search was cancelled before
+     * finding a move
+     */
+    public int search(long moverCells, long opponentCells, int maxDepth) {
+        long empty = ~(moverCells | opponentCells) & grid.getFullMask();
+        int bestMove = empty == 0 ? -1 : Long.numberOfTrailingZeros(empty);
+        maxDepth = Math.min(maxDepth, Long.bitCount(empty));
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int depthBestMove = -1;
+            int alpha = -WIN_SCORE - 1;
+
+            for (long moves = empty; moves != 0; moves &= moves - 1) {
+                int cell = Long.numberOfTrailingZeros(moves);
+                int score = -negamax(opponentCells, moverCells | BoardGrid.getMask(cell), cell, depth - 1, -WIN_SCORE - 1, -alpha, 1);
+
+                if (aborted) {
+                    break;
+                }
+
+                if (score > alpha) {
+                    alpha = score;
+                    depthBestMove = cell;
+                }
+            }
+
+            if (aborted) {
+                // Keep the move of the last completed depth
+                break;
+            }
+
+            bestMove = depthBestMove;
+
+            if (Math.abs(alpha) >= WIN_SCORE - maxDepth) {
+                // The result is decided, looking deeper won't change the move
+                break;
+            }
+        }
+
+        return token.isCancelled() ? -1 : bestMove;
+    }
+
+    /**
+     * Scores a position for the player to move
+     *
+     * @param mover      long the squares of the player to move
+     * @param opponent   long the squares of the other player
+     * @param lastPlayed int the square the other player just played
+     * @param depth      int how many more turns to look ahead
+     * @param alpha      int the score the mover is already assured of
+     * @param beta       int the score the opponent is already assured of
+     * @param ply        int how many turns deep this position is
+     * @return int the score of the position, higher being better for the mover
+     */
+    private int negamax(long mover, long opponent, int lastPlayed, int depth, int alpha, int beta, int ply) {
+        if ((++positions & CHECK_INTERVAL) == 0 && (token.isCancelled() || System.nanoTime() > deadline)) {
+            aborted = true;
+        }
+
+        if (aborted) {
+            return 0;
+        }
+
+        if (grid.findLine(opponent, lastPlayed) != 0) {
+            // The opponent has just won, sooner losses score lower
+            return -(WIN_SCORE - ply);
+        }
+
+        long empty = ~(mover | opponent) & grid.getFullMask();
+
+        if (empty == 0) {
+            // Tie
+            return 0;
+        }
+
+        if (depth == 0) {
+            return evaluate(mover, opponent);
+        }
+
+        for (long moves = empty; moves != 0; moves &= moves - 1) {
+            int cell = Long.numberOfTrailingZeros(moves);
+            int score = -negamax(opponent, mover | BoardGrid.getMask(cell), cell, depth - 1, -beta, -alpha, ply + 1);
+
+            if (score > alpha) {
+                alpha = score;
+
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+        }
+
+        return alpha;
+    }
+
+    /**
+     * Estimates a position by the lines each player can still complete, weighted by how far along they are
+     *
+     * @param mover    long the squares of the player to move
+     * @param opponent long the squares of the other player
+     * @return int the estimated score for the mover
+     */
+    private int evaluate(long mover, long opponent) {
+        int score = 0;
+
+        for (int i = 0; i < grid.getLineCount(); i++) {
+            long line = grid.getLine(i);
+            int moverCount = Long.bitCount(line & mover);
+            int opponentCount = Long.bitCount(line & opponent);
+
+            if (opponentCount == 0) {
+                score += moverCount * moverCount;
+            } else if (moverCount == 0) {
+                score -= opponentCount * opponentCount;
+            }
+        }
+
+        return score;
+    }
+}
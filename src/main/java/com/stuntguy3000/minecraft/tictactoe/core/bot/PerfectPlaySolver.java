@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.bot;
+
+import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardGrid;
+
+import java.util.Arrays;
+
+/**
+ * A perfect-play solver for classic 3x3 tic tac toe
+ * <p>
+ * Every reachable position is solved once with negamax, and the best move is stored in a table indexed by the base-3
+ * encoding of the position (each square being 0 = empty, 1 = the mover's square, 2 = the opponent's square). Looking
+ * up a move is then two array reads.
+ */
+public class PerfectPlaySolver {
+    private static final int CELLS = 9;
+    private static final int EMPTY_MASK = (1 << CELLS) - 1;
+    private static final int STATES = 19683; // 3^9
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+
+    private final BoardGrid grid = BoardGrid.of(3, 3);
+    // Bitmask -> base-3 encoding with a 1 digit for every set bit
+    private final int[] ternary = new int[1 << CELLS];
+    private final byte[] scores = new byte[STATES];
+    private final byte[] bestMoves = new byte[STATES];
+
+    public PerfectPlaySolver() {
+        for (int mask = 0; mask < ternary.length; mask++) {
+            int digit = 1;
+
+            for (int cell = 0; cell < CELLS; cell++) {
+                if ((mask & (1 << cell)) != 0) {
+                    ternary[mask] += digit;
+                }
+
+                digit *= 3;
+            }
+        }
+
+        Arrays.fill(scores, UNSOLVED);
+        Arrays.fill(bestMoves, (byte) -1);
+
+        solve(0, 0);
+    }
+
+    /**
+     * Solves a position with negamax, storing the score and best move of every position visited
+     * <p>
+     * Wins score higher the sooner they happen, losses score lower the sooner they happen.
+     *
+     * @param mover    int the squares of the player to move
+     * @param opponent int the squares of the other player
+     * @return int the score of the position for the mover
+     */
+    private int solve(int mover, int opponent) {
+        int state = ternary[mover] + 2 * ternary[opponent];
+
+        if (scores[state] != UNSOLVED) {
+            return scores[state];
+        }
+
+        int empty = ~(mover | opponent) & EMPTY_MASK;
+        int score;
+        int bestMove = -1;
+
+        if (grid.findLine(opponent) != 0) {
+            // The opponent has just won
+            score = -(Integer.bitCount(empty) + 1);
+        } else if (empty == 0) {
+            // Tie
+            score = 0;
+        } else {
+            score = Integer.MIN_VALUE;
+
+            for (int cell = 0; cell < CELLS; cell++) {
+                if ((empty & (1 << cell)) == 0) {
+                    continue;
+                }
+
+                int moveScore = -solve(opponent, mover | (1 << cell));
+
+                if (moveScore > score) {
+                    score = moveScore;
+                    bestMove = cell;
+                }
+            }
+        }
+
+        scores[state] = (byte) score;
+        bestMoves[state] = (byte) bestMove;
+        return score;
+    }
+
+    /**
+     * Returns the best move for a position
+     *
+     * @param moverCells    long the squares of the player to move
+     * @param opponentCells long the squares of the other player
+     * @return int the best square to play, or -1 if the game is over (or the position is unreachable)
+     */
+    public int getBestMove(long moverCells, long opponentCells) {
+        return bestMoves[ternary[(int) moverCells] + 2 * ternary[(int) opponentCells]];
+    }
+}
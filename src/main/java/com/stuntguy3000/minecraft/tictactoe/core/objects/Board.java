@@ -25,256 +25,149 @@
 package com.stuntguy3000.minecraft.tictactoe.core.objects;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.util.WorkPriority;
 import com.stuntguy3000.minecraft.tictactoe.handler.BoardHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.ItemHandler;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.*;
 import org.bukkit.*;
-import org.bukkit.block.BlockFace;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
- * Represents a 3x3 grid of item frames in a Minecraft world (aka a 'board')
+ * Represents a square grid of item frames in a Minecraft world (aka a 'board'), 3x3 by default
  */
 @Data
-@AllArgsConstructor
 public class Board {
     private UUID id;
     private WorldVector centerVector;
+    @Setter(AccessLevel.NONE)
+    private int size;
+    @Setter(AccessLevel.NONE)
+    private int winLength;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient BoardGrid grid;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient BoardLayout layout;
+    // Square -> the item waiting to be put in its item frame
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient ItemStack[] pendingItems;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient boolean pendingUpdate;
+    // Square -> the item last put in its item frame, so unchanged frames aren't written again
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient ItemStack[] displayedItems;
+
+    public Board(UUID id, WorldVector centerVector, int size, int winLength) {
+        this.id = id;
+        this.centerVector = centerVector;
+        this.size = size;
+        this.winLength = winLength;
+    }
 
     /**
-     * Returns the BoardItem object located at boardPosition
+     * Used by GSON, so Boards saved before sizes were configurable load as 3x3 boards
+     */
+    private Board() {
+        this(null, null, BoardGrid.DEFAULT_SIZE, BoardGrid.DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the shape of this board
      *
-     * @param boardPosition the position of the board item
-     * @return the BoardItem located at boardPosition (or null)
+     * @return BoardGrid the shape of this board
      */
-    public BoardItem getBoardItem(BoardPosition boardPosition) {
-        // Validation checks
-        if (centerVector == null || centerVector.getWorldName() == null || centerVector.getLocation() == null || centerVector.getLocation().getWorld() == null) {
-            return null;
+    public BoardGrid getGrid() {
+        if (grid == null) {
+            grid = BoardGrid.of(size, winLength);
         }
 
-        // Find the ItemFrame entity at the center
-        Location centerLocation = centerVector.getLocation();
-        Collection<Entity> entities = centerLocation.getWorld().getNearbyEntities(centerLocation, 0, 0, 0, entity -> entity instanceof ItemFrame);
+        return grid;
+    }
 
-        BlockFace attachedFace = null;
+    /**
+     * Returns the resolved layout of this board, resolving it from the world if required
+     *
+     * @return BoardLayout the layout of this board (or null if it could not be resolved)
+     */
+    public BoardLayout getLayout() {
+        if (layout == null) {
+            layout = BoardLayout.resolve(this);
 
-        // Identify the center item's attached face
-        if (entities.size() == 1) {
-            for (Entity entity : entities) {
-                attachedFace = ((ItemFrame) entity).getAttachedFace();
-                break;
+            // Only registered boards can be found by their item frames
+            if (layout != null && isRegistered()) {
+                PluginMain.getInstance().getBoardHandler().indexItemFrames(layout);
             }
         }
 
-        // Sanity check
-        if (attachedFace == null) {
-            return null;
-        }
-
-        // Identify the correct offsets
-        double xOffset = 0;
-        double yOffset = 0;
-        double zOffset = 0;
-
-        switch (boardPosition) {
-            case TOP_LEFT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = -1;
-                        yOffset = 1;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = 1;
-                        zOffset = 1;
-                        break;
-                    case SOUTH:
-                        xOffset = 1;
-                        yOffset = 1;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = 1;
-                        zOffset = -1;
-                        break;
-                }
-                break;
-            }
-            case TOP_RIGHT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = 1;
-                        yOffset = 1;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = 1;
-                        zOffset = -1;
-                        break;
-                    case SOUTH:
-                        xOffset = -1;
-                        yOffset = 1;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = 1;
-                        zOffset = 1;
-                        break;
-                }
-                break;
-            }
-            case MIDDLE_LEFT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = 1;
-                        yOffset = 0;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = 0;
-                        zOffset = 1;
-                        break;
-                    case SOUTH:
-                        xOffset = -1;
-                        yOffset = 0;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = 0;
-                        zOffset = -1;
-                        break;
-                }
-                break;
-            }
-            case MIDDLE_RIGHT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = -1;
-                        yOffset = 0;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = 0;
-                        zOffset = -1;
-                        break;
-                    case SOUTH:
-                        xOffset = 1;
-                        yOffset = 0;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = 0;
-                        zOffset = 1;
-                        break;
-                }
-                break;
-            }
-            case BOTTOM_LEFT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = -1;
-                        yOffset = -1;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = -1;
-                        zOffset = 1;
-                        break;
-                    case SOUTH:
-                        xOffset = 1;
-                        yOffset = -1;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = -1;
-                        zOffset = -1;
-                        break;
-                }
-                break;
-            }
-            case BOTTOM_RIGHT: {
-                switch (Objects.requireNonNull(attachedFace)) {
-                    case NORTH:
-                        xOffset = 1;
-                        yOffset = -1;
-                        zOffset = 0;
-                        break;
-                    case WEST:
-                        xOffset = 0;
-                        yOffset = -1;
-                        zOffset = -1;
-                        break;
-                    case SOUTH:
-                        xOffset = -1;
-                        yOffset = -1;
-                        zOffset = 0;
-                        break;
-                    case EAST:
-                        xOffset = 0;
-                        yOffset = -1;
-                        zOffset = 1;
-                        break;
-                }
-                break;
-            }
-            case TOP_MIDDLE: {
-                yOffset = 1;
-                break;
-            }
-            case BOTTOM_MIDDLE: {
-                yOffset = -1;
-                break;
-            }
-        }
+        return layout;
+    }
 
-        // Identify the new item
-        Location newLocation = centerLocation.clone().add(xOffset, yOffset, zOffset);
-        BoardItem boardItem = new BoardItem(new WorldVector(newLocation), this, boardPosition);
-        ItemFrame itemFrame = boardItem.getItemFrame();
+    /**
+     * Returns if this board is the Board registered with the BoardHandler under it's id
+     *
+     * @return true if this board is registered
+     */
+    public boolean isRegistered() {
+        return id != null && PluginMain.getInstance().getBoardHandler().getBoardById(id) == this;
+    }
 
-        // Final sanity check
-        if (itemFrame == null) {
-            return null;
+    /**
+     * Discards the resolved layout of this board, forcing it to be resolved again on next use
+     */
+    public void invalidateLayout() {
+        if (layout != null) {
+            PluginMain.getInstance().getBoardHandler().unindexItemFrames(layout);
         }
 
-        return boardItem;
+        layout = null;
+        displayedItems = null;
     }
 
     /**
-     * Gets the BoardPosition of itemFrame
+     * Returns the BoardItem object located at boardPosition
      *
-     * @param itemFrame the input itemFrame
-     * @return the BoardPosition where itemFrame is located
+     * @param boardPosition the position of the board item
+     * @return the BoardItem located at boardPosition (or null)
      */
-    public BoardPosition getPositionOfItemFrame(ItemFrame itemFrame) {
-        for (BoardPosition itemPosition : BoardPosition.values()) {
-            BoardItem boardItem = getBoardItem(itemPosition);
+    public BoardItem getBoardItem(BoardPosition boardPosition) {
+        return getBoardItem(boardPosition.getCell(getGrid()));
+    }
 
-            if (boardItem != null && boardItem.getItemFrame().equals(itemFrame)) {
-                return itemPosition;
-            }
+    /**
+     * Returns the BoardItem object of a square
+     *
+     * @param cell the square (see BoardGrid)
+     * @return the BoardItem of the square (or null)
+     */
+    public BoardItem getBoardItem(int cell) {
+        BoardLayout boardLayout = getLayout();
+
+        if (boardLayout == null) {
+            return null;
         }
 
-        return null;
+        BoardItem boardItem = boardLayout.getBoardItem(cell);
+
+        // Final sanity check
+        if (boardItem.getItemFrame() == null) {
+            return null;
+        }
+
+        return boardItem;
     }
 
     /**
@@ -283,30 +176,44 @@ public class Board {
      * <p>
      * Invalid states are - Any board item that is missing - Any board item that contains any UNEXPECTED items (non-game
      * items)
+     * <p>
+     * The board's layout is resolved again as part of this check.
      *
      * @return true if the board is deemed "valid"
      */
     public boolean isBoardValid() {
+        invalidateLayout();
+        BoardLayout boardLayout = getLayout();
+
+        if (boardLayout == null) {
+            return false;
+        }
+
+        BoardHandler boardHandler = PluginMain.getInstance().getBoardHandler();
+
         // Loop through all board items
-        for (BoardPosition itemPosition : BoardPosition.values()) {
-            BoardItem boardItem = getBoardItem(itemPosition);
+        for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+            ItemFrame itemFrame = boardItem.getItemFrame();
+
+            if (itemFrame == null) {
+                return false;
+            }
+
+            ItemStack frameItem = itemFrame.getItem();
 
-            if (boardItem == null) {
+            if (frameItem.getType() != Material.AIR && !ItemHandler.isTicTacToeItem(frameItem)) {
                 return false;
-            } else {
-                ItemFrame itemFrame = boardItem.getItemFrame();
+            }
+
+            // Check if any other boards exist at this location
+            Board otherBoard = boardHandler.getBoardAtBlockKey(centerVector.getWorldName(), boardItem.getBlockKey());
 
-                if (itemFrame.getItem().getType() != Material.AIR && !ItemHandler.isTicTacToeItem(itemFrame.getItem())) {
-                    return false;
-                }
+            if (otherBoard != null && otherBoard != this) {
+                return false;
             }
         }
 
-        // Check if any other boards exist at this location
-        BoardHandler boardHandler = PluginMain.getInstance().getBoardHandler();
-        Board otherBoard = boardHandler.getBoardAtBlockLocation(getCenterVector().getBlockLocationVector());
-
-        return otherBoard == null || otherBoard == this;
+        return true;
     }
 
     /**
@@ -321,29 +228,80 @@ public class Board {
     }
 
     /**
-     * Puts an ItemStack in an ItemFrame on the board
+     * Queues an ItemStack to be put in an ItemFrame on the board
+     * <p>
+     * Changes are applied as high priority work (see WorkHandler), and a later change to the same square replaces an
+     * earlier one.
      *
-     * @param position      BoardPosition the position to fill
-     * @param doDisplayName boolean true to enable the display the name of the item on the board (on player hover)
-     * @param item          ItemStack the item to display
+     * @param cell int the square to fill
+     * @param item ItemStack the item to display (must not be modified afterwards, null to clear the frame)
      */
-    private void setBoardItem(BoardPosition position, boolean doDisplayName, ItemStack item) {
-        ItemFrame itemFrame = getBoardItem(position).getItemFrame();
+    public void setBoardItem(int cell, ItemStack item) {
+        if (item == null) {
+            item = new ItemStack(Material.AIR);
+        }
 
-        // Remove Display Name
-        ItemMeta itemMeta = item.getItemMeta();
-        if (itemMeta != null) {
-            if (!doDisplayName) {
-                itemMeta.setDisplayName(null);
-                item.setItemMeta(itemMeta);
-            }
+        if (pendingItems == null) {
+            pendingItems = new ItemStack[getGrid().getCellCount()];
+        }
+
+        pendingItems[cell] = item;
+
+        if (!pendingUpdate) {
+            pendingUpdate = true;
+            PluginMain.getInstance().getWorkHandler().submit(WorkPriority.HIGH, this::applyPendingItems);
+        }
+    }
+
+    /**
+     * Puts every queued ItemStack in its ItemFrame on the board, skipping frames that already display it
+     */
+    public void applyPendingItems() {
+        pendingUpdate = false;
+
+        // Removed boards must not resolve (and index) their layout again
+        if (pendingItems == null || !isRegistered()) {
+            pendingItems = null;
+            return;
+        }
+
+        BoardLayout boardLayout = getLayout();
+
+        if (displayedItems == null) {
+            displayedItems = new ItemStack[pendingItems.length];
         }
 
-        // Clear any rotation
-        itemFrame.setRotation(Rotation.NONE);
+        for (int cell = 0; cell < pendingItems.length; cell++) {
+            ItemStack item = pendingItems[cell];
+
+            if (item == null) {
+                continue;
+            }
+
+            pendingItems[cell] = null;
+
+            if (boardLayout == null) {
+                continue;
+            }
+
+            ItemFrame itemFrame = boardLayout.getBoardItem(cell).getItemFrame();
 
-        // Apply Item
-        itemFrame.setItem(item, false);
+            if (itemFrame == null) {
+                continue;
+            }
+
+            // The frame's item can be knocked out when block protection is off, so check it still shows the item
+            if (item.isSimilar(displayedItems[cell]) && item.isSimilar(itemFrame.getItem())) {
+                continue;
+            }
+
+            // Clear any rotation
+            itemFrame.setRotation(Rotation.NONE);
+
+            // Apply Item
+            itemFrame.setItem(item, false);
+            displayedItems[cell] = item;
+        }
     }
 
     /**
@@ -354,11 +312,18 @@ public class Board {
      */
     public void fillBoardItems(ItemStack item, boolean doDisplayName) {
         ItemStack fillItem = item.clone();
-        PluginMain pluginMain = PluginMain.getInstance();
 
-        for (BoardPosition boardPosition : BoardPosition.values()) {
-            // Task required to fix issue with block updates not being delivered
-            Bukkit.getScheduler().runTask(pluginMain, () -> setBoardItem(boardPosition, doDisplayName, fillItem));
+        // Remove Display Name
+        ItemMeta itemMeta = fillItem.getItemMeta();
+        if (itemMeta != null) {
+            if (!doDisplayName) {
+                itemMeta.setDisplayName(null);
+                fillItem.setItemMeta(itemMeta);
+            }
+        }
+
+        for (int cell = 0; cell < getGrid().getCellCount(); cell++) {
+            setBoardItem(cell, fillItem);
         }
     }
 }
@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.objects;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the shape of a @see {Board}: a size x size grid of squares where winLength squares in a row wins
+ * <p>
+ * Squares are numbered row by row from the top left (cell = row * size + column), and sets of squares are stored as
+ * bitmasks where bit n is square n. Every possible winning line is precomputed once per shape.
+ */
+@Getter
+public class BoardGrid {
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 8; // 64 squares, the number of bits in a long
+    public static final int MIN_WIN_LENGTH = 3;
+    public static final int DEFAULT_SIZE = 3;
+
+    private static final Map<Integer, BoardGrid> GRIDS = new ConcurrentHashMap<>();
+    // Row and column steps of a line: right, down, down-right and down-left
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winLength;
+    private final int cellCount;
+    private final long fullMask;
+    @Getter(AccessLevel.NONE)
+    private final long[] lines;
+    // Cell -> the lines passing through that cell
+    @Getter(AccessLevel.NONE)
+    private final long[][] linesThroughCell;
+
+    private BoardGrid(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        this.cellCount = size * size;
+        this.fullMask = cellCount == Long.SIZE ? -1L : (1L << cellCount) - 1;
+
+        // Precompute every line of winLength squares
+        List<Long> lineList = new ArrayList<>();
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                for (int[] direction : DIRECTIONS) {
+                    int endRow = row + direction[0] * (winLength - 1);
+                    int endColumn = column + direction[1] * (winLength - 1);
+
+                    if (endRow < 0 || endRow >= size || endColumn < 0 || endColumn >= size) {
+                        continue;
+                    }
+
+                    long line = 0;
+                    for (int i = 0; i < winLength; i++) {
+                        line |= getMask(getCell(row + direction[0] * i, column + direction[1] * i));
+                    }
+
+                    lineList.add(line);
+                }
+            }
+        }
+
+        this.lines = lineList.stream().mapToLong(Long::longValue).toArray();
+        this.linesThroughCell = new long[cellCount][];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            long cellMask = getMask(cell);
+            linesThroughCell[cell] = lineList.stream().mapToLong(Long::longValue).filter(line -> (line & cellMask) != 0).toArray();
+        }
+    }
+
+    /**
+     * Returns the (shared) BoardGrid of a particular shape
+     *
+     * @param size      int the width and height of the grid
+     * @param winLength int the amount of squares in a row required to win
+     * @return BoardGrid the grid
+     * @throws IllegalArgumentException if the shape is not supported
+     */
+    public static BoardGrid of(int size, int winLength) {
+        if (!isValid(size, winLength)) {
+            throw new IllegalArgumentException(String.format("Unsupported board shape %dx%d (%d in a row)", size, size, winLength));
+        }
+
+        return GRIDS.computeIfAbsent(size * (MAX_SIZE + 1) + winLength, key -> new BoardGrid(size, winLength));
+    }
+
+    /**
+     * Returns if a grid shape is supported
+     *
+     * @param size      int the width and height of the grid
+     * @param winLength int the amount of squares in a row required to win
+     * @return true if supported
+     */
+    public static boolean isValid(int size, int winLength) {
+        return size >= MIN_SIZE && size <= MAX_SIZE && winLength >= MIN_WIN_LENGTH && winLength <= size;
+    }
+
+    /**
+     * Returns the bitmask of a single square
+     *
+     * @param cell int the square
+     * @return long the bit of the square
+     */
+    public static long getMask(int cell) {
+        return 1L << cell;
+    }
+
+    /**
+     * Returns the square at a row and column
+     *
+     * @param row    int the row (0 being the top row)
+     * @param column int the column (0 being the left column)
+     * @return int the square
+     */
+    public int getCell(int row, int column) {
+        return row * size + column;
+    }
+
+    /**
+     * Returns the row of a square
+     *
+     * @param cell int the square
+     * @return int the row (0 being the top row)
+     */
+    public int getRow(int cell) {
+        return cell / size;
+    }
+
+    /**
+     * Returns the column of a square
+     *
+     * @param cell int the square
+     * @return int the column (0 being the left column)
+     */
+    public int getColumn(int cell) {
+        return cell % size;
+    }
+
+    /**
+     * Returns the row and column index of the center square (the square a Board is created from)
+     * <p>
+     * For even sizes, this is the top left square of the middle four.
+     *
+     * @return int the row/column index of the center square
+     */
+    public int getCenterIndex() {
+        return (size - 1) / 2;
+    }
+
+    /**
+     * Returns the amount of possible winning lines
+     *
+     * @return int the amount of lines
+     */
+    public int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     * Returns a possible winning line
+     *
+     * @param index int the index of the line (0 to getLineCount() - 1)
+     * @return long the bitmask of the line
+     */
+    public long getLine(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Finds a winning line fully contained in a player's squares
+     *
+     * @param playerCells long the bitmask of the squares played by one player
+     * @return long the bitmask of the winning line, or 0 if there is none
+     */
+    public long findLine(long playerCells) {
+        for (long line : lines) {
+            if ((playerCells & line) == line) {
+                return line;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Finds a winning line fully contained in a player's squares, only testing lines through the last played square
+     * <p>
+     * Only the lines through lastPlayed can have been completed by that turn.
+     *
+     * @param playerCells long the bitmask of the squares played by one player (including lastPlayed)
+     * @param lastPlayed  int the square most recently played by that player
+     * @return long the bitmask of the winning line, or 0 if there is none
+     */
+    public long findLine(long playerCells, int lastPlayed) {
+        for (long line : linesThroughCell[lastPlayed]) {
+            if ((playerCells & line) == line) {
+                return line;
+            }
+        }
+
+        return 0;
+    }
+}
@@ -24,42 +24,66 @@
 
 package com.stuntguy3000.minecraft.tictactoe.core.objects;
 
-import lombok.AllArgsConstructor;
+import com.stuntguy3000.minecraft.tictactoe.core.util.BlockKeyUtil;
+import lombok.AccessLevel;
 import lombok.Data;
-import org.bukkit.Location;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemFrame;
 
-import java.util.Collection;
-import java.util.Objects;
+import java.lang.ref.WeakReference;
+import java.util.UUID;
 
 /**
  * Represents one of the items (squares) on a @see {Board}
  */
 @Data
-@AllArgsConstructor
 public class BoardItem {
-    private WorldVector location;
-    private Board board;
-    private BoardPosition position;
+    private final WorldVector location;
+    private final Board board;
+    private final int cell;
+    private final UUID itemFrameId;
+    private final long blockKey;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private WeakReference<ItemFrame> itemFrameReference;
 
-    public ItemFrame getItemFrame() {
-        if (location == null || location.getWorldName() == null || location.getCoords() == null) {
-            return null;
-        }
+    public BoardItem(WorldVector location, Board board, int cell, ItemFrame itemFrame) {
+        this.location = location;
+        this.board = board;
+        this.cell = cell;
+        this.itemFrameId = itemFrame.getUniqueId();
+        this.blockKey = BlockKeyUtil.getBlockKey(location.getCoords().getBlockX(), location.getCoords().getBlockY(), location.getCoords().getBlockZ());
+        this.itemFrameReference = new WeakReference<>(itemFrame);
+    }
 
-        Location location = this.location.getLocation();
+    /**
+     * Returns the ItemFrame entity of this square
+     * <p>
+     * The entity is looked up by it's unique id if the previously known entity has since been unloaded.
+     *
+     * @return ItemFrame the ItemFrame entity, or null if not loaded
+     */
+    public ItemFrame getItemFrame() {
+        ItemFrame itemFrame = itemFrameReference.get();
 
-        if (location == null) {
-            return null;
-        }
+        if (itemFrame == null || !itemFrame.isValid()) {
+            Entity entity = Bukkit.getEntity(itemFrameId);
 
-        Collection<Entity> entityList = Objects.requireNonNull(location.getWorld()).getNearbyEntities(location, 0, 0, 0, entity -> entity instanceof ItemFrame);
+            if (!(entity instanceof ItemFrame)) {
+                return null;
+            }
 
-        if (entityList.size() != 1) {
-            return null;
+            itemFrame = (ItemFrame) entity;
+            itemFrameReference = new WeakReference<>(itemFrame);
         }
 
-        return (ItemFrame) entityList.iterator().next();
+        return itemFrame;
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.objects;
+
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.ItemFrame;
+
+import java.util.*;
+
+/**
+ * Represents the resolved geometry of a @see {Board} (the attached face and the location/entity of every square)
+ * <p>
+ * A layout is immutable once resolved, and is only rebuilt when the Board's chunk loads or the Board is re-validated.
+ */
+public class BoardLayout {
+    @Getter
+    private final BlockFace attachedFace;
+    private final BoardItem[] boardItems;
+    @Getter
+    private final List<BoardItem> boardItemList;
+
+    private BoardLayout(BlockFace attachedFace, BoardItem[] boardItems) {
+        this.attachedFace = attachedFace;
+        this.boardItems = boardItems;
+        this.boardItemList = Collections.unmodifiableList(Arrays.asList(boardItems));
+    }
+
+    /**
+     * Resolves the layout of a Board from the item frame entities in the world
+     *
+     * @param board Board the board to resolve
+     * @return BoardLayout the resolved layout, or null if any item frame could not be found
+     */
+    public static BoardLayout resolve(Board board) {
+        // Validation checks
+        WorldVector centerVector = board.getCenterVector();
+
+        if (centerVector == null || centerVector.getWorldName() == null || centerVector.getCoords() == null) {
+            return null;
+        }
+
+        Location centerLocation = centerVector.getLocation();
+
+        if (centerLocation == null) {
+            return null;
+        }
+
+        // Identify the center item's attached face
+        ItemFrame centerItemFrame = findItemFrame(centerLocation);
+
+        if (centerItemFrame == null) {
+            return null;
+        }
+
+        BlockFace attachedFace = centerItemFrame.getAttachedFace();
+
+        // Only boards hanging on a wall are supported
+        if (attachedFace != BlockFace.NORTH && attachedFace != BlockFace.EAST && attachedFace != BlockFace.SOUTH && attachedFace != BlockFace.WEST) {
+            return null;
+        }
+
+        // The direction of "right" for a player looking at the board
+        int rightX = -attachedFace.getModZ();
+        int rightZ = attachedFace.getModX();
+
+        BoardGrid grid = board.getGrid();
+        int centerCell = BoardPosition.CENTER.getCell(grid);
+        BoardItem[] boardItems = new BoardItem[grid.getCellCount()];
+
+        for (int cell = 0; cell < grid.getCellCount(); cell++) {
+            int columnOffset = grid.getColumn(cell) - grid.getCenterIndex();
+            int rowOffset = grid.getCenterIndex() - grid.getRow(cell);
+
+            Location location = centerLocation.clone().add(columnOffset * rightX, rowOffset, columnOffset * rightZ);
+            ItemFrame itemFrame = (cell == centerCell ? centerItemFrame : findItemFrame(location));
+
+            // Final sanity check
+            if (itemFrame == null) {
+                return null;
+            }
+
+            boardItems[cell] = new BoardItem(new WorldVector(location), board, cell, itemFrame);
+        }
+
+        return new BoardLayout(attachedFace, boardItems);
+    }
+
+    /**
+     * Finds the single ItemFrame entity at an exact location
+     *
+     * @param location Location the location to search
+     * @return ItemFrame the ItemFrame found, or null if there is not exactly one
+     */
+    private static ItemFrame findItemFrame(Location location) {
+        Collection<Entity> entities = Objects.requireNonNull(location.getWorld()).getNearbyEntities(location, 0, 0, 0, entity -> entity instanceof ItemFrame);
+
+        if (entities.size() != 1) {
+            return null;
+        }
+
+        return (ItemFrame) entities.iterator().next();
+    }
+
+    /**
+     * Returns the BoardItem of a square
+     *
+     * @param cell int the square (see BoardGrid)
+     * @return BoardItem the BoardItem of the square
+     */
+    public BoardItem getBoardItem(int cell) {
+        return boardItems[cell];
+    }
+}
@@ -26,7 +26,48 @@ package com.stuntguy3000.minecraft.tictactoe.core.objects;
 
 /**
  * Represents physical positions of squares (@see {BoardItem}) on a Board
+ * <p>
+ * On a 3x3 Board these are every square, on larger Boards they are the corners, edge centers and center.
  */
 public enum BoardPosition {
-    TOP_LEFT, TOP_MIDDLE, TOP_RIGHT, MIDDLE_LEFT, CENTER, MIDDLE_RIGHT, BOTTOM_LEFT, BOTTOM_MIDDLE, BOTTOM_RIGHT
+    TOP_LEFT, TOP_MIDDLE, TOP_RIGHT, MIDDLE_LEFT, CENTER, MIDDLE_RIGHT, BOTTOM_LEFT, BOTTOM_MIDDLE, BOTTOM_RIGHT;
+
+    /**
+     * Returns the row of this position (0 being the top row) on a 3x3 grid
+     *
+     * @return int the row index
+     */
+    public int getRow() {
+        return ordinal() / 3;
+    }
+
+    /**
+     * Returns the column of this position (0 being the left column) on a 3x3 grid
+     *
+     * @return int the column index
+     */
+    public int getColumn() {
+        return ordinal() % 3;
+    }
+
+    /**
+     * Returns the square of this position on a particular grid
+     *
+     * @param grid BoardGrid the grid
+     * @return int the square
+     */
+    public int getCell(BoardGrid grid) {
+        return grid.getCell(scaleIndex(getRow(), grid), scaleIndex(getColumn(), grid));
+    }
+
+    private static int scaleIndex(int index, BoardGrid grid) {
+        switch (index) {
+            case 0:
+                return 0;
+            case 1:
+                return grid.getCenterIndex();
+            default:
+                return grid.getSize() - 1;
+        }
+    }
 }
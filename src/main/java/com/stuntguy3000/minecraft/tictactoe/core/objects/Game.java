@@ -26,16 +26,15 @@ package com.stuntguy3000.minecraft.tictactoe.core.objects;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.Lang;
-import com.stuntguy3000.minecraft.tictactoe.core.util.ArrayUtil;
-import com.stuntguy3000.minecraft.tictactoe.handler.BoardHandler;
+import com.stuntguy3000.minecraft.tictactoe.core.util.WorkPriority;
 import com.stuntguy3000.minecraft.tictactoe.handler.ItemHandler;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.Rotation;
 import org.bukkit.Sound;
-import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
@@ -48,10 +47,16 @@ import java.util.*;
 @RequiredArgsConstructor
 public class Game {
     private final UUID gameId;
-    private final UUID boardId;
+    private final Board board;
     // Used to store a digital map of tic tac toe placed items (you know, the actual game)
-    // Only contains played placed board position items
-    private final HashMap<BoardPosition, UUID> playerTurns = new HashMap<>();
+    // Each player's squares are a bitmask, see BoardGrid
+    @Setter(AccessLevel.NONE)
+    private long player1Cells;
+    @Setter(AccessLevel.NONE)
+    private long player2Cells;
+    // Cached result of the win check, updated as each turn is played
+    @Setter(AccessLevel.NONE)
+    private long winningLine;
     private UUID player1Id;
     private UUID player2Id;
     private UUID winnerId;
@@ -59,7 +64,6 @@ public class Game {
     private ItemStack player2Item;
     private int currentTurn; // 1 or 2
     private Gamestate gamestate = Gamestate.NONE;
-    private int winTaskAnimationId = 0;
 
     /**
      * Change the gamestate of the game and perform the required game functions for the state change
@@ -69,10 +73,16 @@ public class Game {
     public void changeGamestate(Gamestate newGamestate) {
         this.gamestate = newGamestate;
 
+        if (newGamestate != Gamestate.END) {
+            PluginMain.getInstance().getAnimationHandler().stopAnimation(this);
+        }
+
         switch (newGamestate) {
             case NONE: {
                 // Reset Board (only valid on game start or Board destroy)
                 getBoard().fillBoardItems(new ItemStack(Material.AIR), false);
+                PluginMain.getInstance().getGameHandler().removePlayerMappings(this);
+                PluginMain.getInstance().getBotHandler().cancelMove(this);
 
                 player1Id = null;
                 player2Id = null;
@@ -80,7 +90,7 @@ public class Game {
                 player1Item = null;
                 player2Item = null;
                 currentTurn = 0;
-                playerTurns.clear();
+                clearTurns();
                 break;
             }
             case WAITING: {
@@ -89,13 +99,13 @@ public class Game {
 
                 winnerId = null;
                 currentTurn = 0;
-                playerTurns.clear();
+                clearTurns();
                 break;
             }
             case INGAME: {
                 // Start the game
                 getBoard().fillBoardItems(new ItemStack(Material.AIR), false);
-                playerTurns.clear();
+                clearTurns();
 
                 sendPlayersMessage(Lang.EVENT_GAME_START);
                 setTurn(new Random().nextBoolean() ? 1 : 2); // Pick either 1 or 2
@@ -109,6 +119,15 @@ public class Game {
         PluginMain.getInstance().getGameHandler().checkGame(this);
     }
 
+    /**
+     * Clears all played squares
+     */
+    private void clearTurns() {
+        player1Cells = 0;
+        player2Cells = 0;
+        winningLine = 0;
+    }
+
     /**
      * Set's the current turn to playerNumber
      *
@@ -122,42 +141,34 @@ public class Game {
     }
 
     /**
-     * Plays the turn of the current player at a particular position on the Board
+     * Plays the turn of the current player at a particular square on the Board
      *
-     * @param boardPosition BoardPosition the position to play
+     * @param cell int the square to play (see BoardGrid)
      */
-    public void playTurn(BoardPosition boardPosition) {
+    public void playTurn(int cell) {
         // Check if the square already has been filled
-        if (playerTurns.containsKey(boardPosition)) {
+        if (((player1Cells | player2Cells) & BoardGrid.getMask(cell)) != 0) {
             // Silently cancel
             return;
         }
 
-        // Update the item frame
-        BoardItem boardItem = getBoard().getBoardItem(boardPosition);
-        ItemFrame itemFrame = boardItem.getItemFrame();
-
-        Player player = null;
+        // Update the register
         ItemStack playerItem = null;
         if (currentTurn == 1) {
             playerItem = getPlayer1Item();
-            player = Bukkit.getPlayer(player1Id);
+            player1Cells |= BoardGrid.getMask(cell);
+            winningLine = board.getGrid().findLine(player1Cells, cell);
         } else if (currentTurn == 2) {
             playerItem = getPlayer2Item();
-            player = Bukkit.getPlayer(player2Id);
+            player2Cells |= BoardGrid.getMask(cell);
+            winningLine = board.getGrid().findLine(player2Cells, cell);
         }
 
-        ItemStack finalPlayerItem = playerItem;
-        Bukkit.getScheduler().runTask(PluginMain.getInstance(), () -> {
-            itemFrame.setItem(finalPlayerItem);
-            itemFrame.setRotation(Rotation.NONE);
-        });
-
-        // Update the register
-        playerTurns.put(boardPosition, player.getUniqueId());
+        // Update the item frame
+        getBoard().setBoardItem(cell, playerItem);
 
         // Provide user feedback
-        getBoard().playSound(Sound.BLOCK_NOTE_BLOCK_PLING, 2);
+        PluginMain.getInstance().getWorkHandler().submit(WorkPriority.NORMAL, () -> getBoard().playSound(Sound.BLOCK_NOTE_BLOCK_PLING, 2));
         setTurn(currentTurn + 1);
 
         // Check the game's status
@@ -194,30 +205,45 @@ public class Game {
      * @param format  Object[] any format variables
      */
     public void sendPlayersActionBar(String message, Object... format) {
+        String formattedMessage = Lang.format(message, format);
+
         if (getPlayer1Id() != null) {
             Player player1 = Bukkit.getPlayer(getPlayer1Id());
             if (player1 != null) {
-                PluginMain.getInstance().getActionBarUtil().sendStickyActionBarMessage(player1, String.format(message, format));
+                PluginMain.getInstance().getActionBarUtil().sendStickyActionBarMessage(player1, formattedMessage);
             }
         }
 
         if (getPlayer2Id() != null) {
             Player player2 = Bukkit.getPlayer(getPlayer2Id());
             if (player2 != null) {
-                PluginMain.getInstance().getActionBarUtil().sendStickyActionBarMessage(player2, String.format(message, format));
+                PluginMain.getInstance().getActionBarUtil().sendStickyActionBarMessage(player2, formattedMessage);
             }
         }
     }
 
     /**
-     * Returns the Board associated with this Game
+     * Returns the id of the Board associated with this Game
      *
-     * @return Board the associated Board object
+     * @return UUID the associated Board's id
      */
-    public Board getBoard() {
-        BoardHandler boardHandler = PluginMain.getInstance().getBoardHandler();
+    public UUID getBoardId() {
+        return board.getId();
+    }
 
-        return boardHandler.getBoardById(getBoardId());
+    /**
+     * Returns the id of the player whose turn it is
+     *
+     * @return UUID the current player's id (or null if no turn is in progress)
+     */
+    public UUID getCurrentTurnPlayerId() {
+        if (currentTurn == 1) {
+            return player1Id;
+        } else if (currentTurn == 2) {
+            return player2Id;
+        }
+
+        return null;
     }
 
     /**
@@ -226,69 +252,35 @@ public class Game {
      * @return true if the game is tied
      */
     public boolean isGameATie() {
-        return findThreeInARow() == null && playerTurns.size() == 9;
+        return (player1Cells | player2Cells) == board.getGrid().getFullMask() && winningLine == 0;
     }
 
-    // Optimization opportunity - only test modified cells and not the whole board
-
     /**
-     * Used to find three items in a row (indicating a win condition)
+     * Returns the id of the player who completed the winning line
      *
-     * @return List the list of BoardPositions containing the same three items in a row (or null if not found)
+     * @return UUID the winning player's id (or null if nobody has won)
      */
-    public List<BoardPosition> findThreeInARow() {
-        // Test Vertical Columns
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_LEFT), getPlayerTurn(BoardPosition.TOP_MIDDLE), getPlayerTurn(BoardPosition.TOP_RIGHT))) {
-            return Arrays.asList(BoardPosition.TOP_LEFT, BoardPosition.TOP_MIDDLE, BoardPosition.TOP_RIGHT);
-        }
-
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.MIDDLE_LEFT), getPlayerTurn(BoardPosition.CENTER), getPlayerTurn(BoardPosition.MIDDLE_RIGHT))) {
-            return Arrays.asList(BoardPosition.MIDDLE_LEFT, BoardPosition.CENTER, BoardPosition.MIDDLE_RIGHT);
-        }
-
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.BOTTOM_LEFT), getPlayerTurn(BoardPosition.BOTTOM_MIDDLE), getPlayerTurn(BoardPosition.BOTTOM_RIGHT))) {
-            return Arrays.asList(BoardPosition.BOTTOM_LEFT, BoardPosition.BOTTOM_MIDDLE, BoardPosition.BOTTOM_RIGHT);
-        }
-
-        // Test Horizontal Rows
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_LEFT), getPlayerTurn(BoardPosition.MIDDLE_LEFT), getPlayerTurn(BoardPosition.BOTTOM_LEFT))) {
-            return Arrays.asList(BoardPosition.TOP_LEFT, BoardPosition.MIDDLE_LEFT, BoardPosition.BOTTOM_LEFT);
-        }
-
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_MIDDLE), getPlayerTurn(BoardPosition.CENTER), getPlayerTurn(BoardPosition.BOTTOM_MIDDLE))) {
-            return Arrays.asList(BoardPosition.TOP_MIDDLE, BoardPosition.CENTER, BoardPosition.BOTTOM_MIDDLE);
-        }
-
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_RIGHT), getPlayerTurn(BoardPosition.MIDDLE_RIGHT), getPlayerTurn(BoardPosition.BOTTOM_RIGHT))) {
-            return Arrays.asList(BoardPosition.TOP_RIGHT, BoardPosition.MIDDLE_RIGHT, BoardPosition.BOTTOM_RIGHT);
+    public UUID getWinningPlayerId() {
+        if (winningLine == 0) {
+            return null;
         }
 
-        // Test Diagonals
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_LEFT), getPlayerTurn(BoardPosition.CENTER), getPlayerTurn(BoardPosition.BOTTOM_RIGHT))) {
-            return Arrays.asList(BoardPosition.TOP_LEFT, BoardPosition.CENTER, BoardPosition.BOTTOM_RIGHT);
-        }
-
-        if (ArrayUtil.testIfElementsIdentical(false, getPlayerTurn(BoardPosition.TOP_RIGHT), getPlayerTurn(BoardPosition.CENTER), getPlayerTurn(BoardPosition.BOTTOM_LEFT))) {
-            return Arrays.asList(BoardPosition.TOP_RIGHT, BoardPosition.CENTER, BoardPosition.BOTTOM_LEFT);
-        }
-
-        return null;
+        return (player1Cells & winningLine) == winningLine ? player1Id : player2Id;
     }
 
     /**
-     * Returns the UUID of a player's turn at a boardPosition
+     * Returns the UUID of a player's turn at a square
      *
-     * @param boardPosition BoardPosition the position of the board
+     * @param cell int the square of the board (see BoardGrid)
      * @return uuid the id of the player who made the turn (or null if no turn made)
      */
-    public UUID getPlayerTurn(BoardPosition boardPosition) {
-        return playerTurns.getOrDefault(boardPosition, null);
-    }
+    public UUID getPlayerTurn(int cell) {
+        if ((player1Cells & BoardGrid.getMask(cell)) != 0) {
+            return player1Id;
+        } else if ((player2Cells & BoardGrid.getMask(cell)) != 0) {
+            return player2Id;
+        }
 
-    /**
-     * Cancels the win animation scheduled task
-     */
-    public void cancelWinAnimationTask() {
-        Bukkit.getScheduler().cancelTask(winTaskAnimationId);
+        return null;
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.objects;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Represents the end of round animation of a Game, strobing the squares of the winning line (or every square on a tie)
+ */
+@Getter
+public class WinAnimation {
+    private static final ItemStack AIR = new ItemStack(Material.AIR);
+
+    private final Game game;
+    private final int[] cells;
+    private final ItemStack[] items;
+    private final long rematchTick;
+    @Setter
+    private long nextTick;
+    private boolean visible = true;
+    @Setter
+    private boolean stopped = false;
+
+    /**
+     * Creates the animation of a Game that has just ended
+     *
+     * @param game        Game the game that has ended
+     * @param firstTick   long the tick of the first toggle
+     * @param rematchTick long the tick at which the next round begins
+     */
+    public WinAnimation(Game game, long firstTick, long rematchTick) {
+        this.game = game;
+        this.rematchTick = rematchTick;
+
+        BoardGrid grid = game.getBoard().getGrid();
+
+        // Determine which squares to strobe
+        long strobeCells = game.getWinningLine();
+
+        if (strobeCells == 0) {
+            // Tie - strobe every square as this is a tie
+            strobeCells = game.isGameATie() ? grid.getFullMask() : 0;
+        }
+
+        this.cells = new int[Long.bitCount(strobeCells)];
+        this.items = new ItemStack[cells.length];
+
+        int i = 0;
+        for (long remaining = strobeCells; remaining != 0; remaining &= remaining - 1) {
+            int cell = Long.numberOfTrailingZeros(remaining);
+
+            // Determine who actually made that turn and show that item
+            cells[i] = cell;
+            items[i] = (game.getPlayer1Cells() & BoardGrid.getMask(cell)) != 0 ? game.getPlayer1Item() : game.getPlayer2Item();
+            i++;
+        }
+
+        this.nextTick = firstTick;
+    }
+
+    /**
+     * Shows or hides the strobed squares, queueing the changes on the Board
+     */
+    public void toggle() {
+        visible = !visible;
+
+        Board board = game.getBoard();
+        for (int i = 0; i < cells.length; i++) {
+            board.setBoardItem(cells[i], visible ? items[i] : AIR);
+        }
+    }
+}
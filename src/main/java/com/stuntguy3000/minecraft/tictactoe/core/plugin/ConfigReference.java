@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.plugin;
+
+/**
+ * Holds the published instance of a @see {PluginConfig}
+ * <p>
+ * The instance is replaced as a whole whenever the config is loaded, reloaded or changed, and is never modified once
+ * published. A reference can be kept in a final field and read from any thread.
+ *
+ * @param <T> the type of the config
+ */
+public class ConfigReference<T extends PluginConfig> {
+    private volatile T config;
+
+    /**
+     * Returns the published config
+     *
+     * @return T the published config, or null if the config has not been registered yet
+     */
+    public T get() {
+        return config;
+    }
+
+    /**
+     * Publishes a new instance of the config
+     *
+     * @param config T the config to publish (must not be modified afterwards)
+     */
+    public void set(T config) {
+        this.config = config;
+    }
+}
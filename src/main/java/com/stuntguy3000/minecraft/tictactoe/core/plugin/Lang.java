@@ -39,7 +39,7 @@ public class Lang {
     public static final String COMMAND_HELP_ENTRY = "§7/%s §e%s §8- §f%s";
 
     public static final String COMMAND_BOARD_CREATE_CANCEL = "§cBoard creation cancelled.";
-    public static final String COMMAND_BOARD_CREATE_START_L1 = "§eBoard creation begun. Right click on the middle of a 3x3 grid of item frames.";
+    public static final String COMMAND_BOARD_CREATE_START_L1 = "§eBoard creation begun. Right click on the middle of a %dx%d grid of item frames (%d in a row wins).";
     public static final String COMMAND_BOARD_CREATE_START_L2 = "To cancel, run §b/%s board cancel§7.";
     public static final String COMMAND_BOARD_LIST_TITLE = "§eBoard List (%d):";
     public static final String COMMAND_BOARD_LIST_VALUE = " §8- §b%d, %d, %d, §7(§e§7%s)";
@@ -55,13 +55,16 @@ public class Lang {
     public static final String ERROR_PREFIX = "§cError: ";
     public static final String ERROR_PERMISSION_DENIED = ERROR_PREFIX + "You do not have permission to perform this action.";
     public static final String ERROR_NOT_PLAYER = ERROR_PREFIX + "You must be a player to perform this action.";
-    public static final String ERROR_BOARD_CREATE = ERROR_PREFIX + "Unable to create board, is this the middle of a 3x3 grid of empty item frames?";
+    public static final String ERROR_BOARD_CREATE = ERROR_PREFIX + "Unable to create board, is this the middle of a %dx%d grid of empty item frames?";
+    public static final String ERROR_BOARD_SIZE = ERROR_PREFIX + "Boards must be between %dx%d and %dx%d, and need between %d and the board size in a row to win.";
     public static final String ERROR_BLOCK_BREAK_EVENT_DENY = ERROR_PREFIX + "You are unable to break this block as it will destroy the board.";
     public static final String ERROR_BLOCK_PLACE_EVENT_DENY = ERROR_PREFIX + "You are place to this block as it will destroy the board.";
     public static final String ERROR_BOARD_REMOVE = ERROR_PREFIX + "No nearby boards found!";
     public static final String ERROR_NOT_IN_GAME = ERROR_PREFIX + "You are not in an active game.";
     public static final String ERROR_GAME_JOIN_FAIL = ERROR_PREFIX + "You are unable to join this game!";
 
+    public static final String ERROR_BOT_UNAVAILABLE = ERROR_PREFIX + "The computer can't join this game! It only plays against one waiting player.";
+
     public static final String ERROR_GAME_UNABLE_TO_JOIN = ERROR_PREFIX + "This game is already in progress!";
     public static final String ERROR_COLOUR_SELECT_IN_USE = ERROR_PREFIX + "This colour is in use by the other player!";
     public static final String ERROR_NOT_YOUR_TURN = ERROR_PREFIX + "It is not your turn!";
@@ -81,6 +84,8 @@ public class Lang {
 
     public static final String MENU_COLOURSELECTION_TITLE = "Choose your colour!";
 
+    public static final String BOT_NAME = "Computer";
+
 
     /**
      * Send a message to a CommandSender.
@@ -102,10 +107,27 @@ public class Lang {
      * If sender is a Player, the message will be sent with the plugin's message prefix.
      *
      * @param sender  CommandSender the entity to send the message to.
-     * @param message String the message to send.
+     * @param message String the message to send (one of the format strings of Lang).
      * @param format  Object[] format objects
      */
     public static void sendMessage(CommandSender sender, String message, Object... format) {
-        sendMessage(sender, String.format(message, format));
+        MessageTemplate template = MessageTemplate.of(message);
+
+        if (sender instanceof Player) {
+            sender.sendMessage(template.renderPrefixed(format));
+        } else {
+            sender.sendMessage(template.renderStripped(format));
+        }
+    }
+
+    /**
+     * Formats a message
+     *
+     * @param message String the message to format (one of the format strings of Lang).
+     * @param format  Object[] format objects
+     * @return String the formatted message
+     */
+    public static String format(String message, Object... format) {
+        return MessageTemplate.of(message).render(format);
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.plugin;
+
+import net.md_5.bungee.api.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a Lang format string, parsed once into literal text and arguments
+ * <p>
+ * Only %s, %d and %% are understood, format strings using anything else are rendered with String.format. Templates are
+ * rendered into a reused StringBuilder, so the rendered String is the only allocation.
+ */
+public class MessageTemplate {
+    private static final Map<String, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private final String format;
+    private final boolean simple;
+    // Literal text around each argument, there is always one more literal than arguments
+    private final String[] literals;
+    private final String[] strippedLiterals;
+    // The first literal, with the plugin's message prefix
+    private final String prefixedLiteral;
+
+    private MessageTemplate(String format) {
+        this.format = format;
+
+        List<String> literalList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean simpleFormat = true;
+
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            char specifier = i + 1 < format.length() ? format.charAt(i + 1) : 0;
+
+            if (specifier == '%') {
+                literal.append('%');
+            } else if (specifier == 's' || specifier == 'd') {
+                literalList.add(literal.toString());
+                literal.setLength(0);
+            } else {
+                simpleFormat = false;
+                break;
+            }
+
+            i++;
+        }
+
+        literalList.add(literal.toString());
+
+        this.simple = simpleFormat;
+        this.literals = literalList.toArray(new String[0]);
+        this.strippedLiterals = new String[literals.length];
+
+        for (int i = 0; i < literals.length; i++) {
+            strippedLiterals[i] = ChatColor.stripColor(literals[i]);
+        }
+
+        this.prefixedLiteral = Lang.PLUGIN_PREFIX + literals[0];
+    }
+
+    /**
+     * Returns the (shared) template of a format string
+     *
+     * @param format String the format string
+     * @return MessageTemplate the parsed template
+     */
+    public static MessageTemplate of(String format) {
+        return TEMPLATES.computeIfAbsent(format, MessageTemplate::new);
+    }
+
+    /**
+     * Renders the template
+     *
+     * @param args Object[] the arguments
+     * @return String the rendered message
+     */
+    public String render(Object... args) {
+        return render(false, false, args);
+    }
+
+    /**
+     * Renders the template as a message to a player, with the plugin's message prefix
+     *
+     * @param args Object[] the arguments
+     * @return String the rendered message
+     */
+    public String renderPrefixed(Object... args) {
+        return render(true, false, args);
+    }
+
+    /**
+     * Renders the template without any colours (as a message to the console)
+     *
+     * @param args Object[] the arguments
+     * @return String the rendered message
+     */
+    public String renderStripped(Object... args) {
+        return render(false, true, args);
+    }
+
+    private String render(boolean prefixed, boolean stripped, Object[] args) {
+        if (!simple || args.length != literals.length - 1) {
+            // Not something we understand, let String.format deal with it (and any errors)
+            String message = String.format(format, args);
+
+            if (stripped) {
+                return ChatColor.stripColor(message);
+            }
+
+            return prefixed ? Lang.PLUGIN_PREFIX + message : message;
+        }
+
+        String[] renderLiterals = stripped ? strippedLiterals : literals;
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+
+        builder.append(prefixed ? prefixedLiteral : renderLiterals[0]);
+
+        for (int i = 0; i < args.length; i++) {
+            appendArgument(builder, args[i], stripped);
+            builder.append(renderLiterals[i + 1]);
+        }
+
+        return builder.toString();
+    }
+
+    private void appendArgument(StringBuilder builder, Object arg, boolean stripped) {
+        if (arg instanceof Integer) {
+            builder.append(((Integer) arg).intValue());
+        } else if (arg instanceof Long) {
+            builder.append(((Long) arg).longValue());
+        } else {
+            String value = String.valueOf(arg);
+            builder.append(stripped && value.indexOf(ChatColor.COLOR_CHAR) >= 0 ? ChatColor.stripColor(value) : value);
+        }
+    }
+}
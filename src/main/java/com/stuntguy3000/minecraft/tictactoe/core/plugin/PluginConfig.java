@@ -41,4 +41,33 @@ public abstract class PluginConfig {
     public void saveConfig() {
         PluginMain.getInstance().getConfigHandler().saveConfiguration(this);
     }
+
+    /**
+     * Saves this config without blocking the main thread
+     */
+    public void saveConfigAsync() {
+        PluginMain.getInstance().getConfigHandler().saveConfigurationAsync(this);
+    }
+
+    /**
+     * Returns a frozen copy of this config, which is what gets published to readers and serialized off the main thread
+     * <p>
+     * Configs without setters are already frozen. Configs holding collections must override this and copy them.
+     *
+     * @return PluginConfig the snapshot
+     */
+    public PluginConfig snapshot() {
+        return this;
+    }
+
+    /**
+     * Applies the changes of a config file edited while the plugin runs (called on the main thread)
+     * <p>
+     * By the time this is called, this config has replaced previousConfig.
+     *
+     * @param previousConfig PluginConfig the config that was loaded before
+     */
+    public void onReload(PluginConfig previousConfig) {
+
+    }
 }
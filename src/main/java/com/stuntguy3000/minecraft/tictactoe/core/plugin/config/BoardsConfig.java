@@ -30,31 +30,49 @@ import com.stuntguy3000.minecraft.tictactoe.core.plugin.PluginConfig;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.PluginConfigData;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.Setter;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Represents the configuration file to store board locations
+ * <p>
+ * Published instances hold an unmodifiable copy of the boards, the live boards are kept by the BoardHandler.
  */
 @EqualsAndHashCode(callSuper = true)
 @PluginConfigData(configFilename = "boards")
 @Getter
-@Setter
 public class BoardsConfig extends PluginConfig {
-    private HashMap<UUID, Board> savedBoards = new HashMap<>();
+    private Map<UUID, Board> savedBoards = Collections.emptyMap();
 
     public BoardsConfig() {
         super("boards");
     }
 
+    public BoardsConfig(Map<UUID, Board> savedBoards) {
+        this();
+        this.savedBoards = Collections.unmodifiableMap(new HashMap<>(savedBoards));
+    }
+
     public static BoardsConfig getConfig() {
-        return (BoardsConfig) PluginMain.getInstance().getConfigHandler().getConfig(BoardsConfig.class.getAnnotation(PluginConfigData.class).configFilename());
+        return PluginMain.getInstance().getConfigHandler().getConfig(BoardsConfig.class);
     }
 
     @Override
     public PluginConfig getSampleConfig() {
         return new BoardsConfig();
     }
+
+    @Override
+    public void onReload(PluginConfig previousConfig) {
+        PluginMain.getInstance().getBoardHandler().reloadBoards(savedBoards);
+    }
+
+    @Override
+    public PluginConfig snapshot() {
+        // Boards' saved fields don't change after creation, so copying the map is enough
+        return new BoardsConfig(savedBoards == null ? Collections.emptyMap() : savedBoards);
+    }
 }
@@ -25,6 +25,7 @@
 package com.stuntguy3000.minecraft.tictactoe.core.plugin.config;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.bot.BotDifficulty;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.PluginConfig;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.PluginConfigData;
 import lombok.Getter;
@@ -39,17 +40,29 @@ public class MainConfig extends PluginConfig {
     private boolean playerMoveEvents = true;
     private int maxPlayerBoardDistance = 10;
     private int endOfRoundSeconds = 3;
+    private int animationFramesPerTick = 64; // Most item frames changed by end of round animations each tick
+    private double workBudgetMillis = 2; // Time spent running queued work each tick
+    private int startupBoardsPerTick = 10; // Boards validated and set up each tick after the plugin enables
+    private BotDifficulty botDifficulty = BotDifficulty.PERFECT;
+    private int botSearchDepth = 2; // Turns looked ahead by the SHALLOW difficulty
+    private double botMistakeChance = 0.2; // Chance of a random move with the EPSILON_GREEDY difficulty
+    private long botSearchMillis = 1000; // Time limit for searches on boards larger than 3x3
 
     public MainConfig() {
         super("main");
     }
 
     public static MainConfig getConfig() {
-        return (MainConfig) PluginMain.getInstance().getConfigHandler().getConfig(MainConfig.class.getAnnotation(PluginConfigData.class).configFilename());
+        return PluginMain.getInstance().getConfigHandler().getConfig(MainConfig.class);
     }
 
     @Override
     public PluginConfig getSampleConfig() {
         return new MainConfig();
     }
+
+    @Override
+    public void onReload(PluginConfig previousConfig) {
+        PluginMain.getInstance().updateOptionalEvents();
+    }
 }
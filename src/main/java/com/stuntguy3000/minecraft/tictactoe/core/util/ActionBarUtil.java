@@ -26,25 +26,38 @@ package com.stuntguy3000.minecraft.tictactoe.core.util;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Utility class to facilitate action bar messages
+ * <p>
+ * Sticky messages are only sent when they change, or when the client is about to stop displaying them.
  */
 public class ActionBarUtil implements Listener {
+    // The client shows an action bar message for 3 seconds, so refresh a little before then
+    private static final long REFRESH_TICKS = 40;
+    private static final int MAX_CACHED_COMPONENTS = 256;
+
+    /**
+     * A map of users and a sticky action bar message, in the order they were last sent
+     */
+    private final LinkedHashMap<UUID, ActionBarMessage> activeMessages = new LinkedHashMap<>();
     /**
-     * A map of users and a sticky action bar message (that is re-applied every 2 seconds)
+     * Parsed messages, so each distinct message is only parsed once (least recently used are dropped first)
      */
-    private final HashMap<UUID, String> activeMessages = new HashMap<>();
+    private final LinkedHashMap<String, BaseComponent[]> componentCache = new LinkedHashMap<String, BaseComponent[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BaseComponent[]> eldest) {
+            return size() > MAX_CACHED_COMPONENTS;
+        }
+    };
 
     /**
      * Send a single action bar message to Player
@@ -53,47 +66,76 @@ public class ActionBarUtil implements Listener {
      * @param message String the message to send
      */
     public void sendActionBarMessage(Player player, String message) {
+        sendActionBarMessage(player, getComponents(message));
+    }
+
+    /**
+     * Send a single, already parsed action bar message to Player
+     *
+     * @param player     Player the targeted player
+     * @param components BaseComponent[] the message to send
+     */
+    private void sendActionBarMessage(Player player, BaseComponent[] components) {
         if (player == null || !player.isOnline()) {
             return;
         }
 
-        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message));
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
     }
 
     /**
      * Send a sticky action bar message to Player (one that does not disappear)
+     * <p>
+     * Nothing is sent if the player is already shown this message.
      *
      * @param player  Player the targeted player
      * @param message String the message to send
      */
     public void sendStickyActionBarMessage(final Player player, final String message) {
-        sendActionBarMessage(player, message);
-        activeMessages.put(player.getUniqueId(), message);
+        ActionBarMessage activeMessage = activeMessages.get(player.getUniqueId());
+
+        if (activeMessage != null && activeMessage.getPlayer() == player && activeMessage.getMessage().equals(message)) {
+            // Unchanged, keep the existing refresh schedule (and place in sent order)
+            return;
+        }
+
+        // Re-insert so messages stay in the order they were sent
+        activeMessages.remove(player.getUniqueId());
+        activeMessage = new ActionBarMessage(player, message, getComponents(message), PluginMain.getInstance().getWorkHandler().getCurrentTick());
+        activeMessages.put(player.getUniqueId(), activeMessage);
+        queueSend(activeMessage);
     }
 
     /**
-     * Schedules the loop to re-send sticky action bar messages
+     * Queues the work to re-send sticky action bar messages every tick
      */
     public void runLoop() {
-        PluginMain plugin = PluginMain.getInstance();
-
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                Iterator<Map.Entry<UUID, String>> iterator = activeMessages.entrySet().iterator();
-
-                while (iterator.hasNext()) {
-                    Map.Entry<UUID, String> entry = iterator.next();
-
-                    Player player = Bukkit.getPlayer(entry.getKey());
-                    if (player != null && player.isOnline()) {
-                        sendActionBarMessage(player, entry.getValue());
-                    } else {
-                        iterator.remove();
-                    }
-                }
+        PluginMain.getInstance().getWorkHandler().submitRepeating(WorkPriority.LOW, this::refreshMessages);
+    }
+
+    /**
+     * Re-sends sticky messages which the client is about to stop displaying
+     */
+    private void refreshMessages() {
+        long currentTick = PluginMain.getInstance().getWorkHandler().getCurrentTick();
+
+        // Messages are ordered by when they were sent, so stop at the first one that isn't due yet
+        while (!activeMessages.isEmpty()) {
+            ActionBarMessage activeMessage = activeMessages.values().iterator().next();
+
+            if (activeMessage.getSentTick() + REFRESH_TICKS > currentTick) {
+                break;
             }
-        }.runTaskTimer(plugin, 40, 40);
+
+            activeMessages.remove(activeMessage.getPlayer().getUniqueId());
+
+            if (activeMessage.getPlayer().isOnline()) {
+                // Re-send, moving the message to the back of the order
+                activeMessage.setSentTick(currentTick);
+                activeMessages.put(activeMessage.getPlayer().getUniqueId(), activeMessage);
+                queueSend(activeMessage);
+            }
+        }
     }
 
     /**
@@ -103,6 +145,26 @@ public class ActionBarUtil implements Listener {
      */
     public void clearActionBarMessage(Player player) {
         activeMessages.remove(player.getUniqueId());
-        sendActionBarMessage(player, "");
+        PluginMain.getInstance().getWorkHandler().submit(WorkPriority.LOW, () -> sendActionBarMessage(player, ""));
+    }
+
+    /**
+     * Queues a sticky message to be sent
+     *
+     * @param activeMessage ActionBarMessage the message to send
+     */
+    private void queueSend(ActionBarMessage activeMessage) {
+        BaseComponent[] components = activeMessage.getComponents();
+        PluginMain.getInstance().getWorkHandler().submit(WorkPriority.LOW, () -> sendActionBarMessage(activeMessage.getPlayer(), components));
+    }
+
+    /**
+     * Returns the parsed form of a message
+     *
+     * @param message String the message
+     * @return BaseComponent[] the parsed message
+     */
+    private BaseComponent[] getComponents(String message) {
+        return componentCache.computeIfAbsent(message, TextComponent::fromLegacyText);
     }
-}
\ No newline at end of file
+}
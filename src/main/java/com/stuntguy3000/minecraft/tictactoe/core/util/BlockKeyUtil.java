@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.util;
+
+import org.bukkit.block.Block;
+
+/**
+ * Packs block and chunk coordinates into longs, for use as keys of a @see {LongHashMap}
+ * <p>
+ * Block keys hold x in the top 26 bits, z in the next 26 bits and y in the low 12 bits (each as two's complement), which
+ * covers the whole world border and build height. Chunk keys hold chunk x in the top 32 bits and chunk z in the low 32.
+ */
+public class BlockKeyUtil {
+
+    /**
+     * Packs block coordinates into a single long (26 bits x, 26 bits z, 12 bits y)
+     *
+     * @param x int the block x coordinate
+     * @param y int the block y coordinate
+     * @param z int the block z coordinate
+     * @return long the packed block key
+     */
+    public static long getBlockKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | ((long) y & 0xFFF);
+    }
+
+    /**
+     * Packs the coordinates of a Block into a single long
+     *
+     * @param block Block the block
+     * @return long the packed block key
+     */
+    public static long getBlockKey(Block block) {
+        return getBlockKey(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Unpacks the x coordinate of a block key
+     *
+     * @param blockKey long the packed block key
+     * @return int the block x coordinate
+     */
+    public static int getBlockX(long blockKey) {
+        return (int) (blockKey >> 38);
+    }
+
+    /**
+     * Unpacks the y coordinate of a block key
+     *
+     * @param blockKey long the packed block key
+     * @return int the block y coordinate
+     */
+    public static int getBlockY(long blockKey) {
+        return (int) (blockKey << 52 >> 52);
+    }
+
+    /**
+     * Unpacks the z coordinate of a block key
+     *
+     * @param blockKey long the packed block key
+     * @return int the block z coordinate
+     */
+    public static int getBlockZ(long blockKey) {
+        return (int) (blockKey << 26 >> 38);
+    }
+
+    /**
+     * Packs chunk coordinates into a single long
+     *
+     * @param chunkX int the chunk x coordinate
+     * @param chunkZ int the chunk z coordinate
+     * @return long the packed chunk key
+     */
+    public static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
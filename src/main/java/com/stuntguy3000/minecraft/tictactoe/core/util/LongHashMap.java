@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.core.util;
+
+import java.util.Arrays;
+
+/**
+ * A minimal open-addressing hash map with primitive long keys (used for block and chunk indexes)
+ * <p>
+ * Lookups do not box the key and do not allocate. Null values are not permitted.
+ *
+ * @param <V> the type of mapped values
+ */
+public class LongHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1)) << 1;
+
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Returns the value mapped to a key
+     *
+     * @param key long the key to lookup
+     * @return V the mapped value, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = hash(key) & mask;
+
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return (V) values[index];
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns if a key is mapped
+     *
+     * @param key long the key to lookup
+     * @return true if the key is mapped
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value, replacing any existing value
+     *
+     * @param key   long the key
+     * @param value V the value (must not be null)
+     * @return V the previously mapped value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not permitted");
+        }
+
+        int index = hash(key) & mask;
+
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = value;
+                return previous;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+
+        // Keep the load factor at or below 0.5
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes the mapping of a key
+     *
+     * @param key long the key to remove
+     * @return V the previously mapped value, or null if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = hash(key) & mask;
+
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = null;
+                size--;
+
+                // Shift back any following entries so that no lookup chain is broken
+                int gap = index;
+                int next = (index + 1) & mask;
+
+                while (values[next] != null) {
+                    int home = hash(keys[next]) & mask;
+
+                    if (gap < next ? (home <= gap || home > next) : (home <= gap && home > next)) {
+                        keys[gap] = keys[next];
+                        values[gap] = values[next];
+                        values[next] = null;
+                        gap = next;
+                    }
+
+                    next = (next + 1) & mask;
+                }
+
+                return previous;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes all mappings
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the amount of mappings
+     *
+     * @return int the amount of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns if there are no mappings
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -26,7 +26,6 @@ package com.stuntguy3000.minecraft.tictactoe.event;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Board;
-import com.stuntguy3000.minecraft.tictactoe.core.objects.WorldVector;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.Lang;
 import com.stuntguy3000.minecraft.tictactoe.handler.BoardHandler;
 import lombok.AllArgsConstructor;
@@ -58,7 +57,7 @@ public class BoardProtectionEvents implements Listener {
 
         // Try to locate any boards in this location
         BoardHandler boardHandler = plugin.getBoardHandler();
-        Board board = boardHandler.getBoardAtBlockLocation(new WorldVector(block.getLocation()));
+        Board board = boardHandler.getBoardAtBlock(block);
 
         if (board != null) {
             event.setCancelled(true);
@@ -124,7 +123,7 @@ public class BoardProtectionEvents implements Listener {
         if (entity instanceof ItemFrame) {
             // Is this a board item?
             Block block = entity.getLocation().getBlock();
-            Board board = plugin.getBoardHandler().getBoardAtBlockLocation(new WorldVector(block.getLocation()));
+            Board board = plugin.getBoardHandler().getBoardAtBlock(block);
 
             if (board != null) {
                 // Cancel the event
@@ -140,7 +139,7 @@ public class BoardProtectionEvents implements Listener {
         if (entity instanceof ItemFrame) {
             // Is this a board item?
             Block block = entity.getLocation().getBlock();
-            Board board = plugin.getBoardHandler().getBoardAtBlockLocation(new WorldVector(block.getLocation()));
+            Board board = plugin.getBoardHandler().getBoardAtBlock(block);
 
             if (board != null) {
                 // Cancel the event
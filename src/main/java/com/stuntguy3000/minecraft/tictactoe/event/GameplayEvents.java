@@ -31,7 +31,6 @@ import com.stuntguy3000.minecraft.tictactoe.handler.BoardHandler;
 import com.stuntguy3000.minecraft.tictactoe.handler.GameHandler;
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import org.bukkit.block.Block;
 import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -64,7 +63,6 @@ public class GameplayEvents implements Listener {
         UUID id = player.getUniqueId();
 
         ItemFrame itemFrame = (ItemFrame) event.getRightClicked();
-        Block block = itemFrame.getLocation().getBlock();
 
         BoardHandler boardHandler = plugin.getBoardHandler();
 
@@ -75,9 +73,11 @@ public class GameplayEvents implements Listener {
             player.sendMessage("");
 
             // Try to make a board and see if it's valid
-            Board newBoard = new Board(UUID.randomUUID(), new WorldVector(itemFrame.getLocation()));
+            BoardGrid grid = boardHandler.getBoardCreatorGrid(id);
+            Board newBoard = new Board(UUID.randomUUID(), new WorldVector(itemFrame.getLocation()), grid.getSize(), grid.getWinLength());
             if (!newBoard.isBoardValid()) {
-                Lang.sendMessage(player, Lang.ERROR_BOARD_CREATE);
+                newBoard.invalidateLayout();
+                Lang.sendMessage(player, Lang.ERROR_BOARD_CREATE, grid.getSize(), grid.getSize());
                 Lang.sendMessage(player, Lang.COMMAND_BOARD_CREATE_START_L2, "tictactoe");
             } else {
                 boardHandler.addBoard(newBoard);
@@ -90,9 +90,11 @@ public class GameplayEvents implements Listener {
         }
 
         // Is this a board item?
-        Board board = boardHandler.getBoardAtBlockLocation(new WorldVector(block.getLocation()));
+        BoardItem boardItem = boardHandler.getBoardItem(itemFrame);
+
+        if (boardItem != null) {
+            Board board = boardItem.getBoard();
 
-        if (board != null) {
             // Cancel the event
             event.setCancelled(true);
             GameHandler gameHandler = plugin.getGameHandler();
@@ -112,7 +114,7 @@ public class GameplayEvents implements Listener {
             } else {
                 // Process item frame click from a player in a game
                 // Have they clicked on the expected board?
-                if (boardGame.getBoard() != board) {
+                if (playerGame != boardGame) {
                     // I don't think this is possible unless the boards are super close - so it's just ignore it for now
                     return;
                 }
@@ -131,8 +133,7 @@ public class GameplayEvents implements Listener {
                 }
 
                 // Process the click
-                BoardPosition itemPosition = board.getPositionOfItemFrame(itemFrame);
-                boardGame.playTurn(itemPosition);
+                boardGame.playTurn(boardItem.getCell());
             }
         }
     }
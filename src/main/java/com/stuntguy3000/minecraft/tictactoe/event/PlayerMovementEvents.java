@@ -27,6 +27,7 @@ package com.stuntguy3000.minecraft.tictactoe.event;
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Board;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Game;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.ConfigReference;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -44,15 +45,23 @@ import org.bukkit.event.player.PlayerMoveEvent;
 @AllArgsConstructor
 public class PlayerMovementEvents implements Listener {
     private final PluginMain plugin;
+    private final ConfigReference<MainConfig> mainConfig = PluginMain.getInstance().getConfigHandler().getReference(MainConfig.class);
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onMove(PlayerMoveEvent event) {
+        Location oldLocation = event.getFrom();
         Location newLocation = event.getTo();
+
+        // Ignore movement within the same block
+        if (newLocation == null || (oldLocation.getBlockX() == newLocation.getBlockX() && oldLocation.getBlockY() == newLocation.getBlockY() && oldLocation.getBlockZ() == newLocation.getBlockZ() && oldLocation.getWorld() == newLocation.getWorld())) {
+            return;
+        }
+
         Player player = event.getPlayer();
 
         Game game = plugin.getGameHandler().getGameForPlayer(player);
         if (game != null) {
-            Board closestBoard = plugin.getBoardHandler().getBoardClosestToLocation(newLocation, MainConfig.getConfig().getMaxPlayerBoardDistance());
+            Board closestBoard = plugin.getBoardHandler().getBoardClosestToLocation(newLocation, mainConfig.get().getMaxPlayerBoardDistance());
 
             if (closestBoard == null || closestBoard != game.getBoard()) {
                 plugin.getGameHandler().removeFromGame(player);
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.handler;
+
+import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.Game;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.Gamestate;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.WinAnimation;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.ConfigReference;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Runs the end of round animation of every Game from a single task
+ * <p>
+ * Animations are queued in the order they are next due, and each tick the due animations are toggled until the frame
+ * budget (see MainConfig#animationFramesPerTick) is spent. Animations that don't fit are toggled on the next tick.
+ * Once an animation's round is over, the Game moves on to the next round.
+ */
+public class AnimationHandler {
+    private static final long STROBE_INTERVAL_TICKS = 5;
+
+    private final PluginMain plugin;
+    private final ConfigReference<MainConfig> mainConfig;
+    // Animations, ordered by the tick they are next due
+    private final PriorityQueue<WinAnimation> animationQueue = new PriorityQueue<>(Comparator.comparingLong(WinAnimation::getNextTick));
+    // Game id -> the animation of that game
+    private final HashMap<UUID, WinAnimation> animations = new HashMap<>();
+    private long currentTick = 0;
+
+    public AnimationHandler() {
+        this.plugin = PluginMain.getInstance();
+        this.mainConfig = plugin.getConfigHandler().getReference(MainConfig.class);
+    }
+
+    /**
+     * Starts the end of round animation of a Game, replacing any existing animation
+     *
+     * @param game Game the game that has ended
+     */
+    public void startAnimation(Game game) {
+        stopAnimation(game);
+
+        long rematchTick = currentTick + 20L * mainConfig.get().getEndOfRoundSeconds();
+        WinAnimation animation = new WinAnimation(game, currentTick + STROBE_INTERVAL_TICKS, rematchTick);
+
+        if (animation.getNextTick() > rematchTick) {
+            animation.setNextTick(rematchTick);
+        }
+
+        animations.put(game.getGameId(), animation);
+        animationQueue.add(animation);
+    }
+
+    /**
+     * Stops the end of round animation of a Game (if any)
+     *
+     * @param game Game the game
+     */
+    public void stopAnimation(Game game) {
+        WinAnimation animation = animations.remove(game.getGameId());
+
+        if (animation != null) {
+            // Removed from the queue when next due
+            animation.setStopped(true);
+        }
+    }
+
+    /**
+     * Schedules the loop to run animations
+     */
+    public void runLoop() {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                currentTick++;
+
+                int frameBudget = Math.max(1, mainConfig.get().getAnimationFramesPerTick());
+                int frames = 0;
+
+                while (frames < frameBudget && !animationQueue.isEmpty() && animationQueue.peek().getNextTick() <= currentTick) {
+                    WinAnimation animation = animationQueue.poll();
+                    Game game = animation.getGame();
+
+                    if (animation.isStopped() || game.getGamestate() != Gamestate.END) {
+                        animations.remove(game.getGameId(), animation);
+                        continue;
+                    }
+
+                    if (currentTick >= animation.getRematchTick()) {
+                        // Start the re-match
+                        animations.remove(game.getGameId(), animation);
+                        game.changeGamestate(Gamestate.WAITING);
+                        continue;
+                    }
+
+                    animation.toggle();
+                    frames += animation.getCells().length;
+
+                    animation.setNextTick(Math.min(currentTick + STROBE_INTERVAL_TICKS, animation.getRematchTick()));
+                    animationQueue.add(animation);
+                }
+            }
+        }.runTaskTimer(plugin, 1, 1);
+    }
+}
@@ -27,13 +27,19 @@ package com.stuntguy3000.minecraft.tictactoe.handler;
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.*;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.BoardsConfig;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
+import com.stuntguy3000.minecraft.tictactoe.core.util.BlockKeyUtil;
+import com.stuntguy3000.minecraft.tictactoe.core.util.LongHashMap;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemFrame;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.Vector;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -41,11 +47,26 @@ import java.util.logging.Level;
 /**
  * Handles game boards
  * <p>
- * A game board consists of a 3x3 square of item frames
+ * A game board consists of a square grid of item frames (see BoardGrid)
  */
 public class BoardHandler {
+    private static final int PROGRESS_INTERVAL_TICKS = 100;
+
     private final PluginMain plugin;
-    private final ArrayList<UUID> boardCreators = new ArrayList<>();
+    // Player id -> the shape of the board that player is creating
+    private final HashMap<UUID, BoardGrid> boardCreators = new HashMap<>();
+    // World name -> packed block key -> Board id, for every square of every Board
+    private final HashMap<String, LongHashMap<UUID>> boardBlockIndex = new HashMap<>();
+    // World name -> packed chunk key -> Boards with a square in that chunk
+    private final HashMap<String, LongHashMap<List<Board>>> boardChunkIndex = new HashMap<>();
+    // World name -> packed block key -> number of Board squares hanging on that block
+    private final HashMap<String, LongHashMap<Integer>> protectedBlockIndex = new HashMap<>();
+    // World name -> packed chunk key -> number of protected blocks in that chunk
+    private final HashMap<String, LongHashMap<Integer>> protectedChunkIndex = new HashMap<>();
+    // The layout each Board was indexed with, so it can be removed from the index again
+    private final HashMap<UUID, BoardLayout> indexedLayouts = new HashMap<>();
+    // Item frame entity id -> the square of a resolved Board layout it belongs to
+    private final HashMap<UUID, BoardItem> itemFrameIndex = new HashMap<>();
     @Getter
     private HashMap<UUID, Board> boards = new HashMap<>();
 
@@ -64,77 +85,115 @@ public class BoardHandler {
     }
 
     /**
-     * Returns a Board that is at an exact BlockLocation
+     * Returns a Board that has an item frame within a Block
      *
-     * @param blockLocation locationVector the BlockLocation to check for a Board.
+     * @param block Block the block to check for a Board.
      * @return Board the associated Board, or null if not found.
      */
-    public Board getBoardAtBlockLocation(WorldVector blockLocation) {
-        for (Board board : boards.values()) {
-            for (BoardPosition itemPosition : BoardPosition.values()) {
-                BoardItem boardItem = board.getBoardItem(itemPosition);
+    public Board getBoardAtBlock(Block block) {
+        return getBoardAtBlock(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+    }
 
-                if (boardItem != null) {
-                    WorldVector boardItemBlockVector = boardItem.getLocation().getBlockLocationVector();
+    /**
+     * Returns a Board that has an item frame at exact block coordinates
+     *
+     * @param worldName String the name of the world
+     * @param x         int the block x coordinate
+     * @param y         int the block y coordinate
+     * @param z         int the block z coordinate
+     * @return Board the associated Board, or null if not found.
+     */
+    public Board getBoardAtBlock(String worldName, int x, int y, int z) {
+        return getBoardAtBlockKey(worldName, BlockKeyUtil.getBlockKey(x, y, z));
+    }
 
-                    if (boardItemBlockVector.equals(blockLocation)) {
-                        return board;
-                    }
-                }
-            }
+    /**
+     * Returns a Board that has an item frame at a packed block key
+     *
+     * @param worldName String the name of the world
+     * @param blockKey  long the packed block key (see BlockKeyUtil)
+     * @return Board the associated Board, or null if not found.
+     */
+    public Board getBoardAtBlockKey(String worldName, long blockKey) {
+        LongHashMap<UUID> worldIndex = boardBlockIndex.get(worldName);
+
+        if (worldIndex == null) {
+            return null;
         }
 
-        return null;
+        UUID boardId = worldIndex.get(blockKey);
+        return boardId == null ? null : boards.get(boardId);
     }
 
     /**
-     * Returns a Board that is at an exact BlockLocation
+     * Returns the Board closest to a Location
+     * <p>
+     * Only Boards indexed in chunks within maxDistance of searchLocation are considered.
      *
-     * @param searchLocation Location the BlockLocation to check for a Board.
-     * @param maxDistance    double the maximum distance searchLocation can be away from the center of a Board
-     * @return Board the associated Board, or null if not found.
+     * @param searchLocation Location the location to search from.
+     * @param maxDistance    double the maximum distance searchLocation can be away from any square of a Board
+     * @return Board the closest Board, or null if not found.
      */
     public Board getBoardClosestToLocation(Location searchLocation, double maxDistance) {
-        HashMap<Board, Double> nearbyBoards = new HashMap<>();
+        World world = searchLocation.getWorld();
 
-        // Find nearby boards
-        for (Board board : boards.values()) {
-            for (BoardPosition itemPosition : BoardPosition.values()) {
-                BoardItem boardItem = board.getBoardItem(itemPosition);
+        if (world == null) {
+            return null;
+        }
 
-                if (boardItem != null) {
-                    try {
-                        double distance = boardItem.getLocation().getLocation().distance(searchLocation);
+        LongHashMap<List<Board>> worldIndex = boardChunkIndex.get(world.getName());
 
-                        if (distance <= maxDistance) {
-                            nearbyBoards.put(board, distance);
-                        }
-                    } catch (IllegalArgumentException ignored) {
-                        // Thrown when two locations are in different dimensions
-                    }
-                }
-            }
+        if (worldIndex == null) {
+            return null;
         }
 
-        // Sort by smallest distance
-        if (!nearbyBoards.isEmpty()) {
-            Board closestBoard = null;
-            double closestDistance = Double.MAX_VALUE;
+        double searchX = searchLocation.getX();
+        double searchY = searchLocation.getY();
+        double searchZ = searchLocation.getZ();
 
-            for (Map.Entry<Board, Double> entrySet : nearbyBoards.entrySet()) {
-                Board board = entrySet.getKey();
-                double distance = entrySet.getValue();
+        int minChunkX = (int) Math.floor(searchX - maxDistance) >> 4;
+        int maxChunkX = (int) Math.floor(searchX + maxDistance) >> 4;
+        int minChunkZ = (int) Math.floor(searchZ - maxDistance) >> 4;
+        int maxChunkZ = (int) Math.floor(searchZ + maxDistance) >> 4;
 
-                if (distance < closestDistance) {
-                    closestDistance = distance;
-                    closestBoard = board;
+        Board closestBoard = null;
+        double closestDistanceSquared = maxDistance * maxDistance;
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                List<Board> chunkBoards = worldIndex.get(BlockKeyUtil.getChunkKey(chunkX, chunkZ));
+
+                if (chunkBoards == null) {
+                    continue;
                 }
-            }
 
-            return closestBoard;
+                for (int i = 0; i < chunkBoards.size(); i++) {
+                    Board board = chunkBoards.get(i);
+                    BoardLayout boardLayout = indexedLayouts.get(board.getId());
+
+                    if (boardLayout == null) {
+                        continue;
+                    }
+
+                    // Measure the distance to the closest square of this board
+                    for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+                        Vector coords = boardItem.getLocation().getCoords();
+
+                        double distanceX = coords.getX() - searchX;
+                        double distanceY = coords.getY() - searchY;
+                        double distanceZ = coords.getZ() - searchZ;
+                        double distanceSquared = distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ;
+
+                        if (distanceSquared <= closestDistanceSquared) {
+                            closestDistanceSquared = distanceSquared;
+                            closestBoard = board;
+                        }
+                    }
+                }
+            }
         }
 
-        return null;
+        return closestBoard;
     }
 
     /**
@@ -144,7 +203,8 @@ public class BoardHandler {
      */
     public void addBoard(Board board) {
         boards.put(board.getId(), board);
-        saveBoards();
+        indexBoard(board);
+        persistBoards();
 
         // Generate Game
         plugin.getGameHandler().generateGame(board);
@@ -156,73 +216,453 @@ public class BoardHandler {
      * @param board Board the board to remove.
      */
     public void destroyBoard(Board board) {
+        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Board %s was removed due to an admin command.", board.getId()));
+        removeBoard(board);
+        persistBoards();
+    }
+
+    /**
+     * Removes a Board and it's Game from the plugin, without saving
+     *
+     * @param board Board the board to remove.
+     */
+    private void removeBoard(Board board) {
         // Stop any active games
         Game game = plugin.getGameHandler().getGameForBoard(board);
-        game.changeGamestate(Gamestate.NONE);
-        plugin.getGameHandler().destroyGame(game);
+
+        if (game != null) {
+            game.changeGamestate(Gamestate.NONE);
+            plugin.getGameHandler().destroyGame(game);
+        }
+
+        // Clear the item frames while the board is still registered
+        board.applyPendingItems();
 
         // Destroy the board
-        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Board %s was removed due to an admin command.", board.getId()));
         boards.remove(board.getId());
-        saveBoards();
+        unindexBoard(board);
+        board.invalidateLayout();
     }
 
     /**
-     * Validate and save all boards to disk.
+     * Applies the boards of a reloaded boards.json
+     * <p>
+     * Only boards that were added, removed or moved are touched, games on every other board carry on as normal.
+     *
+     * @param reloadedBoards Map the boards read from disk
      */
-    public void saveBoards() {
-        // Validate boards
-        validateBoards();
+    public void reloadBoards(Map<UUID, Board> reloadedBoards) {
+        HashMap<UUID, Board> savedBoards = new HashMap<>(reloadedBoards);
 
-        // Save to disk
-        BoardsConfig boardsConfig = BoardsConfig.getConfig();
-        boardsConfig.setSavedBoards(boards);
-        boardsConfig.saveConfig();
+        // Check the new boards before touching any live state
+        removeUnloadableBoards(savedBoards);
 
-        // Log
-        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Saved and validated %s board%s to boards.json", boards.size(), (boards.size() > 1 ? "s" : "")));
+        int removed = 0;
+        int added = 0;
+
+        // Remove boards which are gone or have changed
+        for (Board board : new ArrayList<>(boards.values())) {
+            Board savedBoard = savedBoards.get(board.getId());
+
+            if (savedBoard == null || !Objects.equals(board.getCenterVector(), savedBoard.getCenterVector()) || board.getSize() != savedBoard.getSize() || board.getWinLength() != savedBoard.getWinLength()) {
+                removeBoard(board);
+                removed++;
+            }
+        }
+
+        // Add boards which are new or have changed
+        for (Board board : savedBoards.values()) {
+            if (boards.containsKey(board.getId())) {
+                continue;
+            }
+
+            if (!board.isBoardValid()) {
+                board.invalidateLayout();
+                Bukkit.getLogger().log(Level.WARNING, String.format("[TicTacToe] Board %s was not loaded due to a validation error.", board.getId()));
+                continue;
+            }
+
+            boards.put(board.getId(), board);
+            indexBoard(board);
+            plugin.getGameHandler().generateGame(board);
+            added++;
+        }
+
+        // Publish the boards that were actually loaded
+        plugin.getConfigHandler().replaceConfiguration(new BoardsConfig(boards));
+
+        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Reloaded boards.json, %s board%s removed and %s added", removed, (removed != 1 ? "s" : ""), added));
+    }
+
+    /**
+     * Save all boards to disk in the background, without validating them
+     */
+    public void persistBoards() {
+        BoardsConfig boardsConfig = new BoardsConfig(boards);
+        plugin.getConfigHandler().replaceConfiguration(boardsConfig);
+        boardsConfig.saveConfigAsync();
     }
 
     /**
      * Load all boards from disk into the plugin.
+     * <p>
+     * Boards are validated and given their Games over the following ticks, see warmUpBoards.
      */
     public void loadBoards() {
         // Load from disk
-        BoardsConfig boardsConfig = BoardsConfig.getConfig();
-        boards = boardsConfig.getSavedBoards();
+        // The live boards are a copy, the published config is never modified
+        boards = new HashMap<>(BoardsConfig.getConfig().getSavedBoards());
+        removeUnloadableBoards(boards);
 
-        // Validate & Save boards
-        saveBoards();
+        boardBlockIndex.clear();
+        boardChunkIndex.clear();
+        protectedBlockIndex.clear();
+        protectedChunkIndex.clear();
+        indexedLayouts.clear();
+        itemFrameIndex.clear();
 
         // Log
-        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Loaded and validated %s board%s from boards.json", boards.size(), (boards.size() > 1 ? "s" : "")));
+        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Loaded %s board%s from boards.json, validating...", boards.size(), (boards.size() != 1 ? "s" : "")));
+
+        warmUpBoards();
     }
 
     /**
-     * Validate all loaded boards
+     * Removes boards read from disk that can't be used at all (such as a hand-edited, unsupported shape)
+     *
+     * @param savedBoards HashMap the boards read from disk
      */
-    private void validateBoards() {
-        // Validate boards
-        Iterator<Board> iterator = boards.values().iterator();
+    private void removeUnloadableBoards(HashMap<UUID, Board> savedBoards) {
+        Iterator<Map.Entry<UUID, Board>> iterator = savedBoards.entrySet().iterator();
+
         while (iterator.hasNext()) {
-            Board board = iterator.next();
+            Map.Entry<UUID, Board> savedBoard = iterator.next();
+            Board board = savedBoard.getValue();
+            String problem = null;
+
+            if (board == null || board.getId() == null || !board.getId().equals(savedBoard.getKey())) {
+                problem = "a missing or mismatched id";
+            } else if (board.getCenterVector() == null || board.getCenterVector().getCoords() == null || board.getCenterVector().getWorldName() == null) {
+                problem = "a missing location";
+            } else if (Bukkit.getWorld(board.getCenterVector().getWorldName()) == null) {
+                problem = "an unknown world";
+            } else if (!BoardGrid.isValid(board.getSize(), board.getWinLength())) {
+                problem = String.format("an unsupported shape (%sx%s, %s in a row)", board.getSize(), board.getSize(), board.getWinLength());
+            }
 
-            if (!board.isBoardValid()) {
-                // Invalid board found
+            if (problem != null) {
                 iterator.remove();
+                Bukkit.getLogger().log(Level.WARNING, String.format("[TicTacToe] Board %s was not loaded due to %s.", savedBoard.getKey(), problem));
+            }
+        }
+    }
+
+    /**
+     * Validates, indexes and starts the Game of every loaded Board, a few Boards each tick
+     * <p>
+     * Spreading this out avoids a long pause (and a burst of item frame updates) when a server has lots of boards.
+     */
+    private void warmUpBoards() {
+        List<Board> pendingBoards = new ArrayList<>(boards.values());
+        long startTime = System.nanoTime();
+
+        new BukkitRunnable() {
+            private int processed = 0;
+            private int removed = 0;
+            private int ticks = 0;
+
+            @Override
+            public void run() {
+                int boardBudget = Math.max(1, MainConfig.getConfig().getStartupBoardsPerTick());
+
+                for (int i = 0; i < boardBudget && processed < pendingBoards.size(); i++) {
+                    Board board = pendingBoards.get(processed++);
+
+                    // Skip boards removed (or replaced by a reload) since loading
+                    if (boards.get(board.getId()) == board && !warmUpBoard(board)) {
+                        removed++;
+                    }
+                }
+
+                if (processed >= pendingBoards.size()) {
+                    cancel();
+
+                    if (removed > 0) {
+                        persistBoards();
+                    }
 
-                Bukkit.getLogger().log(Level.WARNING, String.format("[TicTacToe] Board %s was removed due to a validation error.", board.getId()));
+                    long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+                    Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Validated %s board%s in %sms (%s removed)", processed, (processed != 1 ? "s" : ""), elapsedMillis, removed));
+                } else if (++ticks % PROGRESS_INTERVAL_TICKS == 0) {
+                    Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Validating boards... %s/%s", processed, pendingBoards.size()));
+                }
             }
+        }.runTaskTimer(plugin, 1, 1);
+    }
+
+    /**
+     * Validates and indexes a loaded Board and generates it's Game, or removes the Board if it is invalid
+     *
+     * @param board Board the board to warm up
+     * @return true if the board is valid
+     */
+    private boolean warmUpBoard(Board board) {
+        if (!board.isBoardValid()) {
+            // Invalid board found
+            boards.remove(board.getId());
+            unindexBoard(board);
+            board.invalidateLayout();
+
+            Bukkit.getLogger().log(Level.WARNING, String.format("[TicTacToe] Board %s was removed due to a validation error.", board.getId()));
+            return false;
+        }
+
+        indexBoard(board);
+
+        if (plugin.getGameHandler().getGameForBoard(board) == null) {
+            plugin.getGameHandler().generateGame(board);
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds every square of a Board to the block index
+     *
+     * @param board Board the board to index
+     */
+    private void indexBoard(Board board) {
+        BoardLayout boardLayout = board.getLayout();
+
+        if (boardLayout == null) {
+            return;
+        }
+
+        unindexBoard(board);
+        indexItemFrames(boardLayout);
+
+        LongHashMap<UUID> worldIndex = boardBlockIndex.computeIfAbsent(board.getCenterVector().getWorldName(), worldName -> new LongHashMap<>());
+        LongHashMap<List<Board>> worldChunkIndex = boardChunkIndex.computeIfAbsent(board.getCenterVector().getWorldName(), worldName -> new LongHashMap<>());
+        LongHashMap<Integer> worldProtectedIndex = protectedBlockIndex.computeIfAbsent(board.getCenterVector().getWorldName(), worldName -> new LongHashMap<>());
+        LongHashMap<Integer> worldProtectedChunkIndex = protectedChunkIndex.computeIfAbsent(board.getCenterVector().getWorldName(), worldName -> new LongHashMap<>());
+
+        for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+            worldIndex.put(boardItem.getBlockKey(), board.getId());
+
+            // The block this square's item frame hangs on
+            Vector coords = boardItem.getLocation().getCoords();
+            BlockFace attachedFace = boardLayout.getAttachedFace();
+            int attachedX = coords.getBlockX() + attachedFace.getModX();
+            int attachedY = coords.getBlockY() + attachedFace.getModY();
+            int attachedZ = coords.getBlockZ() + attachedFace.getModZ();
+
+            incrementCount(worldProtectedIndex, BlockKeyUtil.getBlockKey(attachedX, attachedY, attachedZ));
+            incrementCount(worldProtectedChunkIndex, BlockKeyUtil.getChunkKey(attachedX >> 4, attachedZ >> 4));
+
+            long chunkKey = getChunkKey(boardItem);
+            List<Board> chunkBoards = worldChunkIndex.get(chunkKey);
+
+            if (chunkBoards == null) {
+                chunkBoards = new ArrayList<>();
+                worldChunkIndex.put(chunkKey, chunkBoards);
+            }
+
+            if (!chunkBoards.contains(board)) {
+                chunkBoards.add(board);
+            }
+        }
+
+        indexedLayouts.put(board.getId(), boardLayout);
+    }
+
+    /**
+     * Removes every square of a Board from the block index
+     *
+     * @param board Board the board to remove
+     */
+    private void unindexBoard(Board board) {
+        BoardLayout boardLayout = indexedLayouts.remove(board.getId());
+
+        if (boardLayout == null) {
+            return;
+        }
+
+        LongHashMap<UUID> worldIndex = boardBlockIndex.get(board.getCenterVector().getWorldName());
+        LongHashMap<List<Board>> worldChunkIndex = boardChunkIndex.get(board.getCenterVector().getWorldName());
+        LongHashMap<Integer> worldProtectedIndex = protectedBlockIndex.get(board.getCenterVector().getWorldName());
+        LongHashMap<Integer> worldProtectedChunkIndex = protectedChunkIndex.get(board.getCenterVector().getWorldName());
+
+        for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+            Vector coords = boardItem.getLocation().getCoords();
+            BlockFace attachedFace = boardLayout.getAttachedFace();
+            int attachedX = coords.getBlockX() + attachedFace.getModX();
+            int attachedY = coords.getBlockY() + attachedFace.getModY();
+            int attachedZ = coords.getBlockZ() + attachedFace.getModZ();
+
+            if (worldProtectedIndex != null) {
+                decrementCount(worldProtectedIndex, BlockKeyUtil.getBlockKey(attachedX, attachedY, attachedZ));
+            }
+
+            if (worldProtectedChunkIndex != null) {
+                decrementCount(worldProtectedChunkIndex, BlockKeyUtil.getChunkKey(attachedX >> 4, attachedZ >> 4));
+            }
+
+            // Only remove keys still owned by this board
+            if (worldIndex != null && board.getId().equals(worldIndex.get(boardItem.getBlockKey()))) {
+                worldIndex.remove(boardItem.getBlockKey());
+            }
+
+            if (worldChunkIndex != null) {
+                long chunkKey = getChunkKey(boardItem);
+                List<Board> chunkBoards = worldChunkIndex.get(chunkKey);
+
+                if (chunkBoards != null) {
+                    chunkBoards.removeIf(chunkBoard -> chunkBoard.getId().equals(board.getId()));
+
+                    if (chunkBoards.isEmpty()) {
+                        worldChunkIndex.remove(chunkKey);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds one to the count stored at a key
+     *
+     * @param countIndex LongHashMap the counts to update
+     * @param key        long the packed key
+     */
+    private void incrementCount(LongHashMap<Integer> countIndex, long key) {
+        Integer count = countIndex.get(key);
+        countIndex.put(key, count == null ? 1 : count + 1);
+    }
+
+    /**
+     * Removes one from the count stored at a key, removing the key once the count reaches zero
+     *
+     * @param countIndex LongHashMap the counts to update
+     * @param key        long the packed key
+     */
+    private void decrementCount(LongHashMap<Integer> countIndex, long key) {
+        Integer count = countIndex.get(key);
+
+        if (count == null) {
+            return;
+        }
+
+        if (count <= 1) {
+            countIndex.remove(key);
+        } else {
+            countIndex.put(key, count - 1);
+        }
+    }
+
+    /**
+     * Returns the packed chunk key of the chunk containing a BoardItem
+     *
+     * @param boardItem BoardItem the board item
+     * @return long the packed chunk key
+     */
+    private long getChunkKey(BoardItem boardItem) {
+        Vector coords = boardItem.getLocation().getCoords();
+
+        return BlockKeyUtil.getChunkKey(coords.getBlockX() >> 4, coords.getBlockZ() >> 4);
+    }
+
+    /**
+     * Discards the resolved layout of all Boards within a chunk
+     *
+     * @param chunk Chunk the chunk which has been loaded or unloaded
+     */
+    public void invalidateBoardLayouts(Chunk chunk) {
+        LongHashMap<List<Board>> worldChunkIndex = boardChunkIndex.get(chunk.getWorld().getName());
+
+        if (worldChunkIndex == null) {
+            return;
+        }
+
+        // Boards not indexed yet have no layout to discard
+        List<Board> chunkBoards = worldChunkIndex.get(BlockKeyUtil.getChunkKey(chunk.getX(), chunk.getZ()));
+
+        if (chunkBoards != null) {
+            for (Board board : chunkBoards) {
+                board.invalidateLayout();
+            }
+        }
+    }
+
+    /**
+     * Returns the square of a Board that an ItemFrame belongs to
+     * <p>
+     * Frames of resolved layouts are found with a single lookup. Otherwise the Board at the frame's block is resolved,
+     * which adds all of it's frames to the index.
+     *
+     * @param itemFrame ItemFrame the item frame to check
+     * @return BoardItem the associated BoardItem, or null if the ItemFrame is not part of a Board
+     */
+    public BoardItem getBoardItem(ItemFrame itemFrame) {
+        BoardItem boardItem = itemFrameIndex.get(itemFrame.getUniqueId());
+
+        if (boardItem != null) {
+            return boardItem;
+        }
+
+        Board board = getBoardAtBlock(itemFrame.getLocation().getBlock());
+
+        if (board == null || board.getLayout() == null) {
+            return null;
+        }
+
+        return itemFrameIndex.get(itemFrame.getUniqueId());
+    }
+
+    /**
+     * Adds every item frame of a resolved layout to the item frame index
+     *
+     * @param boardLayout BoardLayout the layout which has been resolved
+     */
+    public void indexItemFrames(BoardLayout boardLayout) {
+        for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+            itemFrameIndex.put(boardItem.getItemFrameId(), boardItem);
+        }
+    }
+
+    /**
+     * Removes every item frame of a layout from the item frame index
+     *
+     * @param boardLayout BoardLayout the layout which has been discarded
+     */
+    public void unindexItemFrames(BoardLayout boardLayout) {
+        for (BoardItem boardItem : boardLayout.getBoardItemList()) {
+            // Only remove entries still owned by this layout
+            if (itemFrameIndex.get(boardItem.getItemFrameId()) == boardItem) {
+                itemFrameIndex.remove(boardItem.getItemFrameId());
+            }
+        }
+    }
+
+    /**
+     * Discards the resolved layout of the Board an ItemFrame belongs to
+     *
+     * @param itemFrame ItemFrame the item frame which has been removed
+     */
+    public void invalidateItemFrame(ItemFrame itemFrame) {
+        BoardItem boardItem = itemFrameIndex.get(itemFrame.getUniqueId());
+
+        if (boardItem != null) {
+            boardItem.getBoard().invalidateLayout();
         }
     }
 
     /**
      * Adds a board creator to the boardCreator tracker map
      *
-     * @param id UUID the id of the player who is creating a board
+     * @param id   UUID the id of the player who is creating a board
+     * @param grid BoardGrid the shape of the board being created
      */
-    public void addBoardCreator(UUID id) {
-        boardCreators.add(id);
+    public void addBoardCreator(UUID id, BoardGrid grid) {
+        boardCreators.put(id, grid);
     }
 
     /**
@@ -232,7 +672,17 @@ public class BoardHandler {
      * @return true if the player is creating a board
      */
     public boolean isBoardCreator(UUID id) {
-        return boardCreators.contains(id);
+        return boardCreators.containsKey(id);
+    }
+
+    /**
+     * Returns the shape of the board a UUID is creating
+     *
+     * @param id UUID the player's unique id
+     * @return BoardGrid the shape of the board being created, or null if the player is not creating a board
+     */
+    public BoardGrid getBoardCreatorGrid(UUID id) {
+        return boardCreators.get(id);
     }
 
     /**
@@ -244,24 +694,22 @@ public class BoardHandler {
         boardCreators.remove(id);
     }
 
-    public boolean isBoardBlock(Block originalBlock) {
-        Collection<Entity> entities = originalBlock.getWorld().getNearbyEntities(originalBlock.getLocation(), 2, 2, 2, entity -> entity instanceof ItemFrame);
-
-        for (Entity entity : entities) {
-            if (entity instanceof ItemFrame) {
-                ItemFrame itemFrame = (ItemFrame) entity;
-                BlockFace attachedFace = itemFrame.getAttachedFace();
-                Block attachedBlock = itemFrame.getLocation().getBlock().getRelative(attachedFace);
+    /**
+     * Returns if a Board item frame hangs on a Block
+     *
+     * @param block Block the block to check
+     * @return true if the block holds up a square of a Board
+     */
+    public boolean isBoardBlock(Block block) {
+        String worldName = block.getWorld().getName();
+        LongHashMap<Integer> worldProtectedChunkIndex = protectedChunkIndex.get(worldName);
 
-                // Is this itemFrame attached to this block?
-                // This is determined by getting the Block location of the ItemFrame and then testing the location
-                // of the block on the attached face.
-                if (attachedBlock.getLocation().equals(originalBlock.getLocation())) {
-                    return true;
-                }
-            }
+        // Quick reject for chunks without any protected blocks
+        if (worldProtectedChunkIndex == null || !worldProtectedChunkIndex.containsKey(BlockKeyUtil.getChunkKey(block.getX() >> 4, block.getZ() >> 4))) {
+            return false;
         }
 
-        return false;
+        LongHashMap<Integer> worldProtectedIndex = protectedBlockIndex.get(worldName);
+        return worldProtectedIndex != null && worldProtectedIndex.containsKey(BlockKeyUtil.getBlockKey(block));
     }
 }
@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.handler;
+
+import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.bot.BotDifficulty;
+import com.stuntguy3000.minecraft.tictactoe.core.bot.MoveSearch;
+import com.stuntguy3000.minecraft.tictactoe.core.bot.PerfectPlaySolver;
+import com.stuntguy3000.minecraft.tictactoe.core.bot.SearchToken;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardGrid;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.Game;
+import com.stuntguy3000.minecraft.tictactoe.core.objects.Gamestate;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+
+/**
+ * Handles the computer player
+ * <p>
+ * Moves on 3x3 boards are looked up on the main thread. Moves on larger boards are searched for asynchronously, and
+ * handed back to the main thread to be played.
+ */
+public class BotHandler {
+    /**
+     * The player id used for a seat taken by the computer
+     */
+    public static final UUID BOT_ID = new UUID(0, 0);
+    private static final long MOVE_DELAY_TICKS = 20;
+
+    private final PluginMain plugin;
+    private final PerfectPlaySolver solver;
+    // Game id -> the token of the computer's pending move
+    private final HashMap<UUID, SearchToken> pendingMoves = new HashMap<>();
+
+    public BotHandler() {
+        this.plugin = PluginMain.getInstance();
+
+        // Solve the game once, so every 3x3 move is a table lookup
+        long startTime = System.currentTimeMillis();
+        this.solver = new PerfectPlaySolver();
+        Bukkit.getLogger().log(Level.INFO, String.format("[TicTacToe] Solved tic tac toe in %dms", System.currentTimeMillis() - startTime));
+    }
+
+    /**
+     * Returns if a player id belongs to the computer
+     *
+     * @param id UUID the player id
+     * @return true if the id is the computer's
+     */
+    public static boolean isBot(UUID id) {
+        return BOT_ID.equals(id);
+    }
+
+    /**
+     * Returns an item for the computer to play with that differs from the other player's item
+     *
+     * @param otherPlayerItem ItemStack the other player's item (or null)
+     * @return ItemStack the computer's item
+     */
+    public ItemStack getBotItem(ItemStack otherPlayerItem) {
+        for (ItemStack playerItem : ItemHandler.getPlayerItems()) {
+            if (otherPlayerItem == null || otherPlayerItem.getType() != playerItem.getType()) {
+                return playerItem;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Schedules the computer's turn in a Game
+     *
+     * @param game Game the game where it is the computer's turn
+     */
+    public void scheduleMove(Game game) {
+        cancelMove(game);
+
+        SearchToken token = new SearchToken();
+        pendingMoves.put(game.getGameId(), token);
+
+        // Take a snapshot of everything the search needs, the game itself is only touched on the main thread
+        BoardGrid grid = game.getBoard().getGrid();
+        long botCells = game.getCurrentTurn() == 1 ? game.getPlayer1Cells() : game.getPlayer2Cells();
+        long opponentCells = game.getCurrentTurn() == 1 ? game.getPlayer2Cells() : game.getPlayer1Cells();
+        MainConfig config = MainConfig.getConfig();
+        BotDifficulty difficulty = config.getBotDifficulty() == null ? BotDifficulty.PERFECT : config.getBotDifficulty();
+        int searchDepth = config.getBotSearchDepth();
+        double mistakeChance = config.getBotMistakeChance();
+        long searchMillis = config.getBotSearchMillis();
+
+        if (grid.getSize() == 3) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                int cell = chooseMove(grid, token, difficulty, searchDepth, mistakeChance, searchMillis, botCells, opponentCells);
+                commitMove(game, token, botCells | opponentCells, cell);
+            }, MOVE_DELAY_TICKS);
+        } else {
+            Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+                int cell = chooseMove(grid, token, difficulty, searchDepth, mistakeChance, searchMillis, botCells, opponentCells);
+
+                // Hand the move back to the main thread
+                if (!token.isCancelled()) {
+                    Bukkit.getScheduler().runTask(plugin, () -> commitMove(game, token, botCells | opponentCells, cell));
+                }
+            }, MOVE_DELAY_TICKS);
+        }
+    }
+
+    /**
+     * Abandons the computer's pending move in a Game (if any)
+     *
+     * @param game Game the game
+     */
+    public void cancelMove(Game game) {
+        SearchToken token = pendingMoves.remove(game.getGameId());
+
+        if (token != null) {
+            token.cancel();
+        }
+    }
+
+    /**
+     * Plays a move chosen by the computer, as long as the game hasn't changed since the move was scheduled
+     *
+     * @param game        Game the game
+     * @param token       SearchToken the token of the move
+     * @param playedCells long the squares played when the move was scheduled
+     * @param cell        int the square to play
+     */
+    private void commitMove(Game game, SearchToken token, long playedCells, int cell) {
+        if (token.isCancelled() || !pendingMoves.remove(game.getGameId(), token)) {
+            return;
+        }
+
+        if (cell < 0 || game.getGamestate() != Gamestate.INGAME || (game.getPlayer1Cells() | game.getPlayer2Cells()) != playedCells || !isBot(game.getCurrentTurnPlayerId())) {
+            return;
+        }
+
+        game.playTurn(cell);
+    }
+
+    /**
+     * Chooses the square the computer will play (safe to call off the main thread)
+     *
+     * @param grid          BoardGrid the shape of the board
+     * @param token         SearchToken the token used to abandon the search
+     * @param difficulty    BotDifficulty how well to play
+     * @param searchDepth   int how many turns ahead a SHALLOW search looks
+     * @param mistakeChance double the chance of an EPSILON_GREEDY random move
+     * @param searchMillis  long the time limit of searches on larger boards
+     * @param botCells      long the computer's squares
+     * @param opponentCells long the other player's squares
+     * @return int the square to play (or -1 if cancelled)
+     */
+    private int chooseMove(BoardGrid grid, SearchToken token, BotDifficulty difficulty, int searchDepth, double mistakeChance, long searchMillis, long botCells, long opponentCells) {
+        switch (difficulty) {
+            case RANDOM: {
+                return getRandomMove(grid, botCells, opponentCells);
+            }
+            case SHALLOW: {
+                return new MoveSearch(grid, token, searchMillis).search(botCells, opponentCells, Math.max(1, searchDepth));
+            }
+            case EPSILON_GREEDY: {
+                if (ThreadLocalRandom.current().nextDouble() < mistakeChance) {
+                    return getRandomMove(grid, botCells, opponentCells);
+                }
+
+                return getBestMove(grid, token, searchMillis, botCells, opponentCells);
+            }
+            default: {
+                return getBestMove(grid, token, searchMillis, botCells, opponentCells);
+            }
+        }
+    }
+
+    /**
+     * Returns the best move the computer can find
+     *
+     * @param grid          BoardGrid the shape of the board
+     * @param token         SearchToken the token used to abandon the search
+     * @param searchMillis  long the time limit of searches on larger boards
+     * @param botCells      long the computer's squares
+     * @param opponentCells long the other player's squares
+     * @return int the square to play (or -1 if cancelled)
+     */
+    private int getBestMove(BoardGrid grid, SearchToken token, long searchMillis, long botCells, long opponentCells) {
+        if (grid.getSize() == 3) {
+            int cell = solver.getBestMove(botCells, opponentCells);
+
+            // Shouldn't happen, but just in case play any free square
+            return cell < 0 ? getRandomMove(grid, botCells, opponentCells) : cell;
+        }
+
+        return new MoveSearch(grid, token, searchMillis).search(botCells, opponentCells, grid.getCellCount());
+    }
+
+    /**
+     * Returns a random free square
+     *
+     * @param grid          BoardGrid the shape of the board
+     * @param botCells      long the computer's squares
+     * @param opponentCells long the other player's squares
+     * @return int a free square (or -1 if there are none)
+     */
+    private int getRandomMove(BoardGrid grid, long botCells, long opponentCells) {
+        long empty = ~(botCells | opponentCells) & grid.getFullMask();
+
+        if (empty == 0) {
+            return -1;
+        }
+
+        // Skip a random amount of free squares
+        for (int skip = ThreadLocalRandom.current().nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+
+        return Long.numberOfTrailingZeros(empty);
+    }
+}
@@ -26,20 +26,35 @@ package com.stuntguy3000.minecraft.tictactoe.handler;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.ConfigReference;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.MinecraftPlugin;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.PluginConfig;
 import lombok.Getter;
+import org.bukkit.Bukkit;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 
 /**
  * Handles configuration files. Configuration files are implemented manually using GSON to serialize and deserialize against known @see {PluginConfig} classes.
+ * <p>
+ * Files are always written to a temporary file first and then moved into place, so a crash mid-write never leaves a
+ * truncated file. Asynchronous saves are written by a single I/O thread, and saves queued while one is waiting are
+ * merged into one write.
+ * <p>
+ * The data folder is watched for changes made outside of the plugin. A changed file is parsed on the watcher thread,
+ * and the new config is swapped in on the main thread.
  */
 public class ConfigHandler {
     @Getter
@@ -48,8 +63,21 @@ public class ConfigHandler {
     private final Gson gson;
     @Getter
     private final List<String> loadedConfigs = new ArrayList<>();
+    // Config class -> the holder of it's published config
+    private final Map<Class<? extends PluginConfig>, ConfigReference<?>> configReferences = new ConcurrentHashMap<>();
+
+    private static final long RELOAD_DELAY_MILLIS = 200;
 
     private final MinecraftPlugin plugin;
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "TicTacToe I/O"));
+    // Config name -> the latest snapshot waiting to be written
+    private final Map<String, PluginConfig> pendingSaves = new ConcurrentHashMap<>();
+    // File name -> the contents last read or written by the plugin, so the watcher ignores the plugin's own saves
+    private final Map<String, String> knownContents = new ConcurrentHashMap<>();
+    // Counts every config write started or finished, and the writes still in progress
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private WatchService watchService;
 
     /**
      * Create a new ConfigHandler instance and setup GSON
@@ -67,7 +95,24 @@ public class ConfigHandler {
      * @param pluginConfig PluginConfig the plugin config class to be registered
      */
     public void registerConfiguration(PluginConfig pluginConfig) {
-        configClasses.put(pluginConfig.getConfigName(), pluginConfig);
+        replaceConfiguration(pluginConfig);
+    }
+
+    /**
+     * Replaces a loaded config with a new instance, without saving it
+     * <p>
+     * A frozen copy of pluginConfig is published (see PluginConfig#snapshot), later changes to pluginConfig are not
+     * seen by readers.
+     *
+     * @param pluginConfig PluginConfig the new config
+     * @return PluginConfig the config which was replaced, or null if there was none
+     */
+    public PluginConfig replaceConfiguration(PluginConfig pluginConfig) {
+        PluginConfig snapshot = pluginConfig.snapshot();
+        PluginConfig previousConfig = configClasses.put(snapshot.getConfigName(), snapshot);
+        publish(snapshot);
+
+        return previousConfig;
     }
 
     /**
@@ -83,18 +128,55 @@ public class ConfigHandler {
                     loadConfigurations();
                     return;
                 } else {
-                    InputStreamReader inputStreamReader = new InputStreamReader(new FileInputStream(configFile), StandardCharsets.UTF_8);
+                    String json = new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8);
 
-                    configClasses.put(config.getKey(), gson.fromJson(inputStreamReader, config.getValue().getClass()));
+                    replaceConfiguration(gson.fromJson(json, config.getValue().getClass()));
+                    knownContents.put(configFile.getName(), json);
                     loadedConfigs.add(config.getKey());
                 }
-            } catch (FileNotFoundException e) {
+            } catch (IOException e) {
                 e.printStackTrace();
                 return;
             }
         }
     }
 
+    /**
+     * Publishes a config to the holder of it's class
+     *
+     * @param pluginConfig PluginConfig the frozen config to publish
+     */
+    @SuppressWarnings("unchecked")
+    private void publish(PluginConfig pluginConfig) {
+        ((ConfigReference<PluginConfig>) getReference(pluginConfig.getClass())).set(pluginConfig);
+    }
+
+    /**
+     * Returns the holder of a PluginConfig's published instance
+     * <p>
+     * The same holder is returned for the life of the plugin, so it can be kept in a final field (even before the config
+     * is registered).
+     *
+     * @param configClass Class the class of the PluginConfig
+     * @param <T>         the type of the PluginConfig
+     * @return ConfigReference the holder of the config
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends PluginConfig> ConfigReference<T> getReference(Class<T> configClass) {
+        return (ConfigReference<T>) configReferences.computeIfAbsent(configClass, key -> new ConfigReference<>());
+    }
+
+    /**
+     * Returns a PluginConfig by it's class
+     *
+     * @param configClass Class the class of the PluginConfig
+     * @param <T>         the type of the PluginConfig
+     * @return T the associated object, or null if not found
+     */
+    public <T extends PluginConfig> T getConfig(Class<T> configClass) {
+        return getReference(configClass).get();
+    }
+
     /**
      * Returns a PluginConfig by it's name
      *
@@ -102,6 +184,12 @@ public class ConfigHandler {
      * @return PluginConfig the associated object, or null if not found
      */
     public PluginConfig getConfig(String name) {
+        PluginConfig pluginConfig = configClasses.get(name);
+
+        if (pluginConfig != null) {
+            return pluginConfig;
+        }
+
         for (Map.Entry<String, PluginConfig> minecraftConfig : getConfigClasses().entrySet()) {
             if (minecraftConfig.getKey().equalsIgnoreCase(name)) {
                 return minecraftConfig.getValue();
@@ -117,27 +205,242 @@ public class ConfigHandler {
      * @param pluginConfig PluginConfig the config class object to save to disk
      */
     public void saveConfiguration(PluginConfig pluginConfig) {
-        File configFile = new File(plugin.getDataFolder() + File.separator + pluginConfig.getConfigName() + ".json");
+        File configFile = getConfigFile(pluginConfig);
+
+        if (!loadedConfigs.contains(pluginConfig.getConfigName())) {
+            loadedConfigs.add(pluginConfig.getConfigName());
+        }
+
+        String json;
+
+        if (!configFile.exists()) {
+            json = gson.toJson(pluginConfig.getSampleConfig());
+        } else {
+            json = gson.toJson(pluginConfig);
+        }
 
+        writeConfigFile(configFile, json);
+    }
+
+    /**
+     * Saves a PluginConfig instance to disk, without blocking the main thread
+     * <p>
+     * A snapshot of the config is taken straight away, and written on the I/O thread.
+     *
+     * @param pluginConfig PluginConfig the config class object to save to disk
+     */
+    public void saveConfigurationAsync(PluginConfig pluginConfig) {
         if (!loadedConfigs.contains(pluginConfig.getConfigName())) {
             loadedConfigs.add(pluginConfig.getConfigName());
         }
 
-        String json = gson.toJson(pluginConfig);
-        FileOutputStream outputStream;
+        String configName = pluginConfig.getConfigName();
+        File configFile = getConfigFile(pluginConfig);
+
+        // Only queue a write if one isn't already waiting, the waiting write will pick up this snapshot
+        if (pendingSaves.put(configName, pluginConfig.snapshot()) == null) {
+            ioExecutor.execute(() -> {
+                PluginConfig snapshot = pendingSaves.remove(configName);
+
+                if (snapshot != null) {
+                    writeConfigFile(configFile, gson.toJson(snapshot));
+                }
+            });
+        }
+    }
+
+    /**
+     * Starts watching the data folder for configuration files changed outside of the plugin
+     */
+    public void startWatching() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            plugin.getDataFolder().toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            Bukkit.getLogger().log(Level.WARNING, "[TicTacToe] Unable to watch configuration files, changes will need a restart.", e);
+            return;
+        }
+
+        Thread watchThread = new Thread(this::watchConfigurations, "TicTacToe Config Watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
 
+    /**
+     * Waits for configuration files to change and reloads them (runs on the watcher thread)
+     */
+    private void watchConfigurations() {
         try {
-            if (!configFile.exists()) {
-                json = gson.toJson(pluginConfig.getSampleConfig());
-                configFile.createNewFile();
+            while (true) {
+                WatchKey watchKey = watchService.take();
+
+                // Editors often write a file in several steps, so give them a moment to finish
+                Thread.sleep(RELOAD_DELAY_MILLIS);
+
+                Set<String> changedFiles = new HashSet<>();
+
+                for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                    if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changedFiles.addAll(knownContents.keySet());
+                    } else {
+                        changedFiles.add(((Path) watchEvent.context()).getFileName().toString());
+                    }
+                }
+
+                watchKey.reset();
+
+                for (String fileName : changedFiles) {
+                    reloadConfigFile(fileName);
+                }
             }
-            outputStream = new FileOutputStream(configFile);
-            assert json != null;
-            outputStream.write(json.getBytes(StandardCharsets.UTF_8));
-            outputStream.close();
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
         }
     }
-}
 
+    /**
+     * Parses a changed configuration file, and hands the new config to the main thread (runs on the watcher thread)
+     *
+     * @param fileName String the name of the changed file
+     */
+    private void reloadConfigFile(String fileName) {
+        PluginConfig currentConfig = null;
+
+        for (ConfigReference<?> configReference : configReferences.values()) {
+            PluginConfig pluginConfig = configReference.get();
+
+            if (pluginConfig != null && (pluginConfig.getConfigName() + ".json").equals(fileName)) {
+                currentConfig = pluginConfig;
+                break;
+            }
+        }
+
+        if (currentConfig == null) {
+            return;
+        }
+
+        File configFile = getConfigFile(currentConfig);
+        PluginConfig newConfig;
+
+        // The plugin is saving this file, it will be checked again once the write has finished
+        if (isSaving(currentConfig.getConfigName())) {
+            return;
+        }
+
+        long generation = writeGeneration.get();
+
+        try {
+            String json = new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8);
+
+            // Ignore the plugin's own saves, including any that started while the file was being read
+            if (json.equals(knownContents.get(fileName)) || writeGeneration.get() != generation || isSaving(currentConfig.getConfigName())) {
+                return;
+            }
+
+            newConfig = gson.fromJson(json, currentConfig.getClass());
+            knownContents.put(fileName, json);
+        } catch (IOException | JsonParseException e) {
+            Bukkit.getLogger().log(Level.WARNING, "[TicTacToe] Unable to reload " + fileName + ", keeping the current configuration.", e);
+            return;
+        }
+
+        if (newConfig == null) {
+            return;
+        }
+
+        String configName = currentConfig.getConfigName();
+        Bukkit.getScheduler().runTask(plugin, () -> applyReload(configName, newConfig, generation));
+    }
+
+    /**
+     * Returns if a config has a save waiting or being written
+     *
+     * @param configName String the name of the config
+     * @return true if the config is being saved
+     */
+    private boolean isSaving(String configName) {
+        return pendingSaves.containsKey(configName) || writesInFlight.get() > 0;
+    }
+
+    /**
+     * Replaces a loaded config with a reloaded copy, and lets it apply it's changes (runs on the main thread)
+     *
+     * @param configName String the name of the config
+     * @param newConfig  PluginConfig the reloaded config
+     * @param generation long the write generation the file was read at
+     */
+    private void applyReload(String configName, PluginConfig newConfig, long generation) {
+        // The plugin saved this config since the file was read, so the file no longer matches the live state
+        if (writeGeneration.get() != generation || isSaving(configName)) {
+            return;
+        }
+
+        PluginConfig previousConfig = replaceConfiguration(newConfig);
+
+        Bukkit.getLogger().log(Level.INFO, "[TicTacToe] Reloading " + configName + ".json...");
+        getConfig(configName).onReload(previousConfig);
+    }
+
+    /**
+     * Waits for any queued saves to be written, and stops the I/O and watcher threads
+     */
+    public void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        ioExecutor.shutdown();
+
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                Bukkit.getLogger().log(Level.SEVERE, "[TicTacToe] Timed out waiting for configuration files to save!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the file of a PluginConfig
+     *
+     * @param pluginConfig PluginConfig the config class object
+     * @return File the config file
+     */
+    private File getConfigFile(PluginConfig pluginConfig) {
+        return new File(plugin.getDataFolder() + File.separator + pluginConfig.getConfigName() + ".json");
+    }
+
+    /**
+     * Atomically replaces the contents of a config file
+     *
+     * @param configFile File the config file
+     * @param json       String the new contents
+     */
+    private void writeConfigFile(File configFile, String json) {
+        Path target = configFile.toPath();
+        Path temp = target.resolveSibling(configFile.getName() + ".tmp");
+
+        writesInFlight.incrementAndGet();
+        writeGeneration.incrementAndGet();
+        knownContents.put(configFile.getName(), json);
+
+        try {
+            Files.write(temp, json.getBytes(StandardCharsets.UTF_8));
+
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "[TicTacToe] Unable to save " + configFile.getName() + "!", e);
+        } finally {
+            writeGeneration.incrementAndGet();
+            writesInFlight.decrementAndGet();
+        }
+    }
+}
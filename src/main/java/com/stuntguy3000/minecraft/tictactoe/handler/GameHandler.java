@@ -26,25 +26,19 @@ package com.stuntguy3000.minecraft.tictactoe.handler;
 
 import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Board;
-import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardPosition;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Game;
 import com.stuntguy3000.minecraft.tictactoe.core.objects.Gamestate;
 import com.stuntguy3000.minecraft.tictactoe.core.plugin.Lang;
-import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
 import lombok.Getter;
 import org.bukkit.Bukkit;
-import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.entity.ItemFrame;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
-import java.util.logging.Level;
 
 /**
  * Handles all game-related operations
@@ -54,37 +48,30 @@ public class GameHandler {
 
     @Getter
     private final List<Game> games = new ArrayList<>();
+    // Player id -> the Game that player is in
+    private final HashMap<UUID, Game> playerGames = new HashMap<>();
+    // Board id -> the Game played on that Board
+    private final HashMap<UUID, Game> boardGames = new HashMap<>();
 
     public GameHandler() {
         this.plugin = PluginMain.getInstance();
     }
 
-    /**
-     * Generates a Game object for each loaded @see {Board}.
-     */
-    public void generateGames() {
-        BoardHandler boardHandler = plugin.getBoardHandler();
-
-        for (UUID boardId : boardHandler.getBoards().keySet()) {
-            Board board = boardHandler.getBoardById(boardId);
-
-            if (board == null) {
-                Bukkit.getLogger().log(Level.SEVERE, "[TicTacToe] Unable to create game for board " + boardId.toString() + "!");
-            } else {
-                generateGame(board);
-            }
-        }
-    }
-
     /**
      * Generates a game for a specific @{see Board}
      *
      * @param board Board the board to create a game for.
      */
     public void generateGame(Board board) {
+        // Every Board has exactly one Game
+        if (boardGames.containsKey(board.getId())) {
+            throw new IllegalStateException("A game already exists for board " + board.getId());
+        }
+
         // Generate the game
-        Game game = new Game(UUID.randomUUID(), board.getId());
+        Game game = new Game(UUID.randomUUID(), board);
         games.add(game);
+        boardGames.put(board.getId(), game);
 
         // Setup the game
         game.changeGamestate(Gamestate.WAITING);
@@ -97,13 +84,7 @@ public class GameHandler {
      * @return Game the current game the player is in, null if not found.
      */
     public Game getGameForPlayer(Player player) {
-        for (Game game : games) {
-            if (game.getPlayer1Id() == player.getUniqueId() || game.getPlayer2Id() == player.getUniqueId()) {
-                return game;
-            }
-        }
-
-        return null;
+        return playerGames.get(player.getUniqueId());
     }
 
     /**
@@ -113,13 +94,7 @@ public class GameHandler {
      * @return Game the game associated with the Board, null if not found/
      */
     public Game getGameForBoard(Board board) {
-        for (Game game : games) {
-            if (game.getBoard() != null && game.getBoard().equals(board)) {
-                return game;
-            }
-        }
-
-        return null;
+        return boardGames.get(board.getId());
     }
 
     /**
@@ -149,6 +124,7 @@ public class GameHandler {
         }
 
         if (successful) {
+            playerGames.put(player.getUniqueId(), game);
             game.sendPlayersMessage(Lang.EVENT_GAME_JOIN, player.getDisplayName());
             checkGame(game);
 
@@ -158,6 +134,49 @@ public class GameHandler {
         return successful;
     }
 
+    /**
+     * Try to fill the empty seat of a game with the computer
+     *
+     * @param game Game the game to add the computer into
+     * @return boolean true if successful
+     */
+    public boolean tryAddBotToGame(Game game) {
+        BotHandler botHandler = plugin.getBotHandler();
+
+        if (game.getGamestate() != Gamestate.WAITING) {
+            return false;
+        }
+
+        // The computer only plays against a single human player
+        UUID humanId;
+        ItemStack botItem;
+
+        if (game.getPlayer1Id() == null && game.getPlayer2Id() != null && !BotHandler.isBot(game.getPlayer2Id())) {
+            humanId = game.getPlayer2Id();
+            botItem = botHandler.getBotItem(game.getPlayer2Item());
+            game.setPlayer1Id(BotHandler.BOT_ID);
+            game.setPlayer1Item(botItem);
+        } else if (game.getPlayer2Id() == null && game.getPlayer1Id() != null && !BotHandler.isBot(game.getPlayer1Id())) {
+            humanId = game.getPlayer1Id();
+            botItem = botHandler.getBotItem(game.getPlayer1Item());
+            game.setPlayer2Id(BotHandler.BOT_ID);
+            game.setPlayer2Item(botItem);
+        } else {
+            return false;
+        }
+
+        // Grey out the computer's colour if the player is still choosing
+        Player human = Bukkit.getPlayer(humanId);
+
+        if (human != null) {
+            plugin.getMenuHandler().updateColourSelectionMenu(human, botItem);
+        }
+
+        game.sendPlayersMessage(Lang.EVENT_GAME_JOIN, Lang.BOT_NAME);
+        checkGame(game);
+        return true;
+    }
+
     /**
      * Remove a Player from their current Game
      *
@@ -169,10 +188,23 @@ public class GameHandler {
         if (game != null) {
             game.sendPlayersMessage(Lang.EVENT_GAME_LEAVE, player.getDisplayName());
 
-            if (game.getPlayer1Id() == player.getUniqueId()) {
+            if (player.getUniqueId().equals(game.getPlayer1Id())) {
+                game.setPlayer1Id(null);
+            } else if (player.getUniqueId().equals(game.getPlayer2Id())) {
+                game.setPlayer2Id(null);
+            }
+
+            playerGames.remove(player.getUniqueId());
+
+            // The computer doesn't stay behind once its opponent has gone
+            plugin.getBotHandler().cancelMove(game);
+
+            if (BotHandler.isBot(game.getPlayer1Id())) {
                 game.setPlayer1Id(null);
-            } else if (game.getPlayer2Id() == player.getUniqueId()) {
+                game.setPlayer1Item(null);
+            } else if (BotHandler.isBot(game.getPlayer2Id())) {
                 game.setPlayer2Id(null);
+                game.setPlayer2Item(null);
             }
 
             plugin.getActionBarUtil().clearActionBarMessage(player);
@@ -209,20 +241,12 @@ public class GameHandler {
                 break;
             }
             case INGAME: {
-                UUID currentTurnPlayerId = null;
-
-                if (game.getCurrentTurn() == 1) {
-                    currentTurnPlayerId = game.getPlayer1Id();
-                } else if (game.getCurrentTurn() == 2) {
-                    currentTurnPlayerId = game.getPlayer2Id();
-                }
+                UUID currentTurnPlayerId = game.getCurrentTurnPlayerId();
 
                 // Check Win
-                List<BoardPosition> boardPositions = game.findThreeInARow();
-
-                if (boardPositions != null) {
+                if (game.getWinningLine() != 0) {
                     // We have a winner!
-                    game.setWinnerId(game.getPlayerTurn(boardPositions.get(0))); // Pretty crude but it works
+                    game.setWinnerId(game.getWinningPlayerId());
                     game.changeGamestate(Gamestate.END);
                     return;
                 }
@@ -236,8 +260,11 @@ public class GameHandler {
                 }
 
                 // Update Title Bar
-                Player player = Bukkit.getPlayer(currentTurnPlayerId);
-                game.sendPlayersActionBar(Lang.ACTIONBAR_GAME_STATUS, String.format(Lang.GAMESTATE_INGAME_DESCRIPTION, player.getDisplayName()));
+                game.sendPlayersActionBar(Lang.ACTIONBAR_GAME_STATUS, Lang.format(Lang.GAMESTATE_INGAME_DESCRIPTION, getPlayerName(currentTurnPlayerId)));
+
+                if (BotHandler.isBot(currentTurnPlayerId)) {
+                    plugin.getBotHandler().scheduleMove(game);
+                }
                 break;
             }
             case END: {
@@ -247,71 +274,16 @@ public class GameHandler {
                 if (winnerId == null) {
                     winnerName = "Tie!";
                 } else {
-                    Player winnerPlayer = Bukkit.getPlayer(game.getWinnerId());
-
-                    if (winnerPlayer == null) {
-                        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(game.getWinnerId());
-                        winnerName = offlinePlayer.getName();
-                    } else {
-                        winnerName = winnerPlayer.getDisplayName();
-                    }
+                    winnerName = getPlayerName(winnerId);
                 }
 
                 game.sendPlayersMessage(Lang.EVENT_GAME_WINNER, winnerName);
 
                 // Update Title Bar
-                game.sendPlayersActionBar(Lang.ACTIONBAR_GAME_STATUS, String.format(Lang.GAMESTATE_END_DESCRIPTION, winnerName));
-
-                // Schedule a re-match
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    if (game.getGamestate() == Gamestate.END) {
-                        game.changeGamestate(Gamestate.WAITING);
-                    }
-                }, 20 * MainConfig.getConfig().getEndOfRoundSeconds());
-
-                // End of round animation to play until end of game
-                BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-                    // Cache various things
-
-                    // Validation check
-                    if (game.getGamestate() == Gamestate.END && game.getBoard() != null) {
-                        // Try to use the already defined three-in-a-row
-                        List<BoardPosition> boardPositions = game.findThreeInARow();
-
-                        // Determine which board positions to strobe
-                        if ((boardPositions == null || boardPositions.size() != 3) && game.isGameATie()) {
-                            // Tie - load in all board positions as this is a tie
-                            boardPositions = new ArrayList<>(Arrays.asList(BoardPosition.values()));
-                        }
-
-                        // Strobe the relevant board positions
-                        if (boardPositions != null && !boardPositions.isEmpty()) {
-                            // We have board positions to strobe
-                            for (BoardPosition boardPosition : boardPositions) {
-                                ItemFrame itemFrame = game.getBoard().getBoardItem(boardPosition).getItemFrame();
-
-                                if (itemFrame.getItem().getType() == Material.AIR) {
-                                    // Set back to the player's item
-                                    UUID placedItemPlayerId = game.getPlayerTurn(boardPosition);
-
-                                    // Determine who actually made that turn and show that item
-                                    if (placedItemPlayerId == game.getPlayer1Id()) {
-                                        itemFrame.setItem(game.getPlayer1Item(), false);
-                                    } else if (placedItemPlayerId == game.getPlayer2Id()) {
-                                        itemFrame.setItem(game.getPlayer2Item(), false);
-                                    }
-                                } else {
-                                    // Set to air
-                                    itemFrame.setItem(new ItemStack(Material.AIR), false);
-                                }
-                            }
-                            return;
-                        }
-                    }
-
-                    game.cancelWinAnimationTask();
-                }, 0, 5);
-                game.setWinTaskAnimationId(bukkitTask.getTaskId());
+                game.sendPlayersActionBar(Lang.ACTIONBAR_GAME_STATUS, Lang.format(Lang.GAMESTATE_END_DESCRIPTION, winnerName));
+
+                // Strobe the result until the re-match
+                plugin.getAnimationHandler().startAnimation(game);
                 break;
             }
         }
@@ -323,6 +295,44 @@ public class GameHandler {
      * @param game Game the game to destroy
      */
     public void destroyGame(Game game) {
+        removePlayerMappings(game);
+        boardGames.remove(game.getBoardId(), game);
         games.remove(game);
     }
+
+    /**
+     * Forgets which players are in a Game (used when the Game's players are reset)
+     *
+     * @param game Game the game whose players should be forgotten
+     */
+    public void removePlayerMappings(Game game) {
+        if (game.getPlayer1Id() != null && playerGames.get(game.getPlayer1Id()) == game) {
+            playerGames.remove(game.getPlayer1Id());
+        }
+
+        if (game.getPlayer2Id() != null && playerGames.get(game.getPlayer2Id()) == game) {
+            playerGames.remove(game.getPlayer2Id());
+        }
+    }
+
+    /**
+     * Returns the name to show for a player in a game
+     *
+     * @param playerId UUID the player's id
+     * @return String the player's display name (or the computer's name)
+     */
+    private String getPlayerName(UUID playerId) {
+        if (BotHandler.isBot(playerId)) {
+            return Lang.BOT_NAME;
+        }
+
+        Player player = Bukkit.getPlayer(playerId);
+
+        if (player == null) {
+            OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerId);
+            return offlinePlayer.getName();
+        }
+
+        return player.getDisplayName();
+    }
 }
@@ -24,60 +24,112 @@
 
 package com.stuntguy3000.minecraft.tictactoe.handler;
 
+import com.stuntguy3000.minecraft.tictactoe.PluginMain;
 import com.stuntguy3000.minecraft.tictactoe.core.util.ItemBuilder;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Contains a static list of known game ItemStacks
+ * <p>
+ * Game items are tagged with ITEM_KEY in their persistent data, and registered by Material so checking an item is
+ * usually a Material lookup and a comparison against the registered item.
  */
 public class ItemHandler {
     private static final String ITEM_TAG_STRING = "§3TicTacToe";
     private static final List<String> ITEM_TAG_LIST = Collections.singletonList(ITEM_TAG_STRING);
-    public static final ItemStack ITEM_GAME_JOIN = new ItemBuilder().material(Material.SLIME_BALL).displayName("§aRight-click to join!").displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_WHITE = new ItemBuilder().material(Material.WHITE_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_ORANGE = new ItemBuilder().material(Material.ORANGE_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_MAGENTA = new ItemBuilder().material(Material.MAGENTA_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_CYAN = new ItemBuilder().material(Material.CYAN_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_YELLOW = new ItemBuilder().material(Material.YELLOW_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_LIME = new ItemBuilder().material(Material.LIME_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_PINK = new ItemBuilder().material(Material.PINK_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_RED = new ItemBuilder().material(Material.RED_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-    private static final ItemStack ITEM_PLAYER_BLUE = new ItemBuilder().material(Material.BLUE_WOOL).displayLore(ITEM_TAG_LIST).getItem();
-
-    // Could use NBT?
+    private static final NamespacedKey ITEM_KEY = new NamespacedKey(PluginMain.getInstance(), "item");
+    // Material -> the game item of that Material
+    private static final Map<Material, ItemStack> GAME_ITEMS = new EnumMap<>(Material.class);
+    public static final ItemStack ITEM_GAME_JOIN = registerItem(new ItemBuilder().material(Material.SLIME_BALL).displayName("§aRight-click to join!").displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_WHITE = registerItem(new ItemBuilder().material(Material.WHITE_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_ORANGE = registerItem(new ItemBuilder().material(Material.ORANGE_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_MAGENTA = registerItem(new ItemBuilder().material(Material.MAGENTA_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_CYAN = registerItem(new ItemBuilder().material(Material.CYAN_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_YELLOW = registerItem(new ItemBuilder().material(Material.YELLOW_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_LIME = registerItem(new ItemBuilder().material(Material.LIME_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_PINK = registerItem(new ItemBuilder().material(Material.PINK_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_RED = registerItem(new ItemBuilder().material(Material.RED_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final ItemStack ITEM_PLAYER_BLUE = registerItem(new ItemBuilder().material(Material.BLUE_WOOL).displayLore(ITEM_TAG_LIST));
+    private static final List<ItemStack> PLAYER_ITEMS = Collections.unmodifiableList(Arrays.asList(ITEM_PLAYER_WHITE, ITEM_PLAYER_ORANGE, ITEM_PLAYER_MAGENTA, ITEM_PLAYER_CYAN, ITEM_PLAYER_YELLOW, ITEM_PLAYER_LIME, ITEM_PLAYER_PINK, ITEM_PLAYER_RED, ITEM_PLAYER_BLUE));
+    public static final ItemStack ITEM_COLOUR_TAKEN = registerItem(new ItemBuilder().material(Material.GRAY_STAINED_GLASS_PANE).displayName("§7Taken by the other player").displayLore(ITEM_TAG_LIST));
 
     /**
-     * Checks if a item is tagged with ITEM_TAG_STRING (determing it to be a game item).
+     * Builds, tags and registers a game item
+     *
+     * @param itemBuilder ItemBuilder the builder of the item
+     * @return ItemStack the game item
+     */
+    private static ItemStack registerItem(ItemBuilder itemBuilder) {
+        ItemStack itemStack = itemBuilder.getItem();
+        ItemMeta itemMeta = itemStack.getItemMeta();
+
+        if (itemMeta != null) {
+            itemMeta.getPersistentDataContainer().set(ITEM_KEY, PersistentDataType.BYTE, (byte) 1);
+            itemStack.setItemMeta(itemMeta);
+        }
+
+        GAME_ITEMS.put(itemStack.getType(), itemStack);
+        return itemStack;
+    }
+
+    /**
+     * Checks if a item is a game item
+     * <p>
+     * Items of any Material not used by game items are rejected straight away. Otherwise the item is compared against
+     * the registered game item, and finally its persistent data (or for items from older versions, its lore) is checked.
      *
      * @param itemStack ItemStack the item to be checked
      * @return boolean true if itemStack is known to be a game item
      */
     public static boolean isTicTacToeItem(ItemStack itemStack) {
-        if (itemStack != null) {
-            ItemMeta itemMeta = itemStack.getItemMeta();
+        if (itemStack == null) {
+            return false;
+        }
+
+        ItemStack gameItem = GAME_ITEMS.get(itemStack.getType());
+
+        if (gameItem == null || !itemStack.hasItemMeta()) {
+            return false;
+        }
 
-            if (itemMeta != null) {
-                List<String> lore = itemMeta.getLore();
+        if (gameItem == itemStack || gameItem.isSimilar(itemStack)) {
+            return true;
+        }
+
+        // Display names may have been removed, so fall back to the tags
+        ItemMeta itemMeta = itemStack.getItemMeta();
 
-                return lore != null && !lore.isEmpty() && lore.get(0).equals(ITEM_TAG_STRING);
+        if (itemMeta != null) {
+            if (itemMeta.getPersistentDataContainer().has(ITEM_KEY, PersistentDataType.BYTE)) {
+                return true;
             }
+
+            List<String> lore = itemMeta.getLore();
+
+            return lore != null && !lore.isEmpty() && lore.get(0).equals(ITEM_TAG_STRING);
         }
 
         return false;
     }
 
     /**
-     * Returns a list of all available player items
+     * Returns the shared list of player items, without copying them
+     * <p>
+     * The items must not be modified.
      *
-     * @return List a list of available player items
+     * @return List an unmodifiable list of player items
      */
-    public static List<ItemStack> getAllPlayerItems() {
-        return Arrays.asList(ITEM_PLAYER_WHITE.clone(), ITEM_PLAYER_ORANGE.clone(), ITEM_PLAYER_MAGENTA.clone(), ITEM_PLAYER_CYAN.clone(), ITEM_PLAYER_YELLOW.clone(), ITEM_PLAYER_LIME.clone(), ITEM_PLAYER_PINK.clone(), ITEM_PLAYER_RED.clone(), ITEM_PLAYER_BLUE.clone());
+    public static List<ItemStack> getPlayerItems() {
+        return PLAYER_ITEMS;
     }
 }
@@ -30,19 +30,42 @@ import com.stuntguy3000.minecraft.tictactoe.core.plugin.Lang;
 import io.mazenmc.menuapi.MenuFactory;
 import io.mazenmc.menuapi.items.Item;
 import io.mazenmc.menuapi.menu.Menu;
+import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Handles the interactions to MenuAPI
  */
 public class MenuHandler {
     private final PluginMain plugin;
+    // The colour selection menu is built once, and copied for each player
+    private final List<ItemStack> colourItems = ItemHandler.getPlayerItems();
+    private final Item[] colourSelectionItems = new Item[colourItems.size()];
+    private final Item colourTakenItem;
+    private final Menu colourSelectionTemplate;
 
     public MenuHandler() {
         this.plugin = PluginMain.getInstance();
+
+        colourTakenItem = MenuFactory.createItem(ItemHandler.ITEM_COLOUR_TAKEN, (player, clickType) -> {
+            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1, 1);
+            Lang.sendMessage(player, Lang.ERROR_COLOUR_SELECT_IN_USE);
+        });
+
+        colourSelectionTemplate = MenuFactory.createMenu(Lang.MENU_COLOURSELECTION_TITLE, 9, false);
+
+        for (int i = 0; i < colourItems.size(); i++) {
+            ItemStack playerItem = colourItems.get(i);
+
+            colourSelectionItems[i] = MenuFactory.createItem(playerItem, (player, clickType) -> selectColour(player, playerItem));
+            colourSelectionTemplate.setItem(i, colourSelectionItems[i]);
+        }
     }
 
     /**
@@ -52,58 +75,123 @@ public class MenuHandler {
      */
     public void createColourSelectionMenu(Player player) {
         // Build Menu
-        Menu menu = MenuFactory.createMenu(Lang.MENU_COLOURSELECTION_TITLE, 9, true);
-
-        int i = 0;
-        for (ItemStack playerItem : ItemHandler.getAllPlayerItems()) {
-            menu.setItem(i, new Item() {
-                @Override
-                public ItemStack stack() {
-                    return playerItem;
-                }
+        Menu menu = MenuFactory.createMenu(Lang.MENU_COLOURSELECTION_TITLE, 9, true).copyItems(colourSelectionTemplate);
 
-                @Override
-                public void act(Player player, ClickType clickType) {
-                    Game game = plugin.getGameHandler().getGameForPlayer(player);
-
-                    if (game != null) {
-                        // Check if the other player has swiped this colour
-                        ItemStack otherPlayer;
-                        if (game.getPlayer1Id() == player.getUniqueId()) {
-                            otherPlayer = game.getPlayer2Item();
-                        } else {
-                            otherPlayer = game.getPlayer1Item();
-                        }
-
-                        if (otherPlayer != null) {
-                            if (otherPlayer.getType() == playerItem.getType()) {
-                                player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1, 1);
-
-                                Lang.sendMessage(player, Lang.ERROR_COLOUR_SELECT_IN_USE);
-                                return;
-                            }
-                        }
-
-                        // Save the selection
-                        if (game.getPlayer1Id() == player.getUniqueId()) {
-                            game.setPlayer1Item(playerItem);
-                        } else {
-                            game.setPlayer2Item(playerItem);
-                        }
-
-                        // Show success feedback
-                        player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1, 2);
-                    }
-
-                    // Wrap it up!
-                    player.closeInventory();
-                }
-            });
+        // Grey out the colour the other player has already chosen
+        Game game = plugin.getGameHandler().getGameForPlayer(player);
 
-            i++;
+        if (game != null) {
+            setTakenColour(menu, getOtherPlayerItem(game, player));
         }
 
         // Show to Player
         menu.showTo(player);
     }
+
+    /**
+     * Updates the colour selection menu a player has open (if any) to show a colour taken by the other player
+     *
+     * @param player      Player the targeted player
+     * @param takenColour ItemStack the colour taken by the other player (or null)
+     */
+    public void updateColourSelectionMenu(Player player, ItemStack takenColour) {
+        InventoryHolder holder = player.getOpenInventory().getTopInventory().getHolder();
+
+        if (holder instanceof Menu && isColourSelectionMenu((Menu) holder)) {
+            setTakenColour((Menu) holder, takenColour);
+        }
+    }
+
+    /**
+     * Saves a player's colour selection
+     *
+     * @param player     Player the player
+     * @param playerItem ItemStack the selected colour
+     */
+    private void selectColour(Player player, ItemStack playerItem) {
+        Game game = plugin.getGameHandler().getGameForPlayer(player);
+
+        if (game != null) {
+            // Check if the other player has swiped this colour
+            ItemStack otherPlayerItem = getOtherPlayerItem(game, player);
+
+            if (otherPlayerItem != null) {
+                if (otherPlayerItem.getType() == playerItem.getType()) {
+                    player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1, 1);
+
+                    Lang.sendMessage(player, Lang.ERROR_COLOUR_SELECT_IN_USE);
+                    return;
+                }
+            }
+
+            // Save the selection
+            UUID otherPlayerId;
+            if (player.getUniqueId().equals(game.getPlayer1Id())) {
+                game.setPlayer1Item(playerItem);
+                otherPlayerId = game.getPlayer2Id();
+            } else {
+                game.setPlayer2Item(playerItem);
+                otherPlayerId = game.getPlayer1Id();
+            }
+
+            // Let the other player know, if they're still choosing
+            Player otherPlayer = otherPlayerId == null ? null : Bukkit.getPlayer(otherPlayerId);
+
+            if (otherPlayer != null) {
+                updateColourSelectionMenu(otherPlayer, playerItem);
+            }
+
+            // Show success feedback
+            player.playSound(player.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1, 2);
+        }
+
+        // Wrap it up!
+        player.closeInventory();
+    }
+
+    /**
+     * Greys out the slot of the colour taken by the other player, restoring any slot greyed out before
+     * <p>
+     * Only slots that actually change are updated.
+     *
+     * @param menu        Menu the colour selection menu
+     * @param takenColour ItemStack the colour taken by the other player (or null)
+     */
+    private void setTakenColour(Menu menu, ItemStack takenColour) {
+        for (int i = 0; i < colourItems.size(); i++) {
+            boolean taken = takenColour != null && takenColour.getType() == colourItems.get(i).getType();
+            Item item = taken ? colourTakenItem : colourSelectionItems[i];
+
+            if (menu.itemAt(i) != item) {
+                menu.setItem(i, item);
+            }
+        }
+    }
+
+    /**
+     * Returns if a menu is a colour selection menu
+     *
+     * @param menu Menu the menu
+     * @return true if the menu is a colour selection menu
+     */
+    private boolean isColourSelectionMenu(Menu menu) {
+        Item firstItem = menu.itemAt(0);
+
+        return firstItem == colourSelectionItems[0] || firstItem == colourTakenItem;
+    }
+
+    /**
+     * Returns the colour chosen by a player's opponent
+     *
+     * @param game   Game the game
+     * @param player Player the player
+     * @return ItemStack the opponent's colour (or null if not chosen)
+     */
+    private ItemStack getOtherPlayerItem(Game game, Player player) {
+        if (player.getUniqueId().equals(game.getPlayer1Id())) {
+            return game.getPlayer2Item();
+        }
+
+        return game.getPlayer1Item();
+    }
 }
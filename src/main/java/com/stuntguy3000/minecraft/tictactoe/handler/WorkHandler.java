@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.stuntguy3000.minecraft.tictactoe.handler;
+
+import com.stuntguy3000.minecraft.tictactoe.PluginMain;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.ConfigReference;
+import com.stuntguy3000.minecraft.tictactoe.core.plugin.config.MainConfig;
+import com.stuntguy3000.minecraft.tictactoe.core.util.WorkPriority;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Runs queued main thread work each tick, within a time budget (see MainConfig#workBudgetMillis)
+ * <p>
+ * Each tick, a few pieces of work from every priority are run first, so lower priority work is never starved. The rest
+ * of the budget is spent highest priority first, in the order work was queued. Once the budget for a tick is spent, the
+ * remaining work waits for the next tick, so a busy moment is spread over a few ticks instead of causing a lag spike.
+ * <p>
+ * Repeating work is queued again at the start of every tick (unless it is still waiting to run).
+ */
+public class WorkHandler {
+    // Work of each priority run every tick, regardless of the budget
+    private static final int MIN_WORK_PER_PRIORITY = 4;
+
+    private final PluginMain plugin;
+    private final ConfigReference<MainConfig> mainConfig;
+    private final ArrayDeque<Runnable>[] workQueues;
+    private final List<RepeatingWork> repeatingWork = new ArrayList<>();
+    @Getter
+    private long currentTick = 0;
+
+    @SuppressWarnings("unchecked")
+    public WorkHandler() {
+        this.plugin = PluginMain.getInstance();
+        this.mainConfig = plugin.getConfigHandler().getReference(MainConfig.class);
+        this.workQueues = new ArrayDeque[WorkPriority.values().length];
+
+        for (int i = 0; i < workQueues.length; i++) {
+            workQueues[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Queues work to be run on the main thread
+     *
+     * @param priority WorkPriority the priority of the work
+     * @param work     Runnable the work to run
+     */
+    public void submit(WorkPriority priority, Runnable work) {
+        workQueues[priority.ordinal()].add(work);
+    }
+
+    /**
+     * Queues work to be run on the main thread once every tick
+     *
+     * @param priority WorkPriority the priority of the work
+     * @param work     Runnable the work to run
+     */
+    public void submitRepeating(WorkPriority priority, Runnable work) {
+        repeatingWork.add(new RepeatingWork(priority, work));
+    }
+
+    /**
+     * Schedules the loop to run queued work
+     */
+    public void runLoop() {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                currentTick++;
+
+                for (RepeatingWork work : repeatingWork) {
+                    if (!work.isQueued()) {
+                        work.setQueued(true);
+                        submit(work.getPriority(), work);
+                    }
+                }
+
+                long deadline = System.nanoTime() + (long) (mainConfig.get().getWorkBudgetMillis() * 1_000_000);
+
+                // Guaranteed share of every priority
+                for (ArrayDeque<Runnable> workQueue : workQueues) {
+                    for (int i = 0; i < MIN_WORK_PER_PRIORITY && !workQueue.isEmpty(); i++) {
+                        runWork(workQueue.poll());
+                    }
+                }
+
+                // Remaining budget, highest priority first
+                for (ArrayDeque<Runnable> workQueue : workQueues) {
+                    while (!workQueue.isEmpty()) {
+                        if (System.nanoTime() > deadline) {
+                            // Out of time, carry on next tick
+                            return;
+                        }
+
+                        runWork(workQueue.poll());
+                    }
+                }
+            }
+        }.runTaskTimer(plugin, 1, 1);
+    }
+
+    /**
+     * Runs a piece of queued work, logging any error
+     *
+     * @param work Runnable the work to run
+     */
+    private void runWork(Runnable work) {
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "[TicTacToe] Error running queued work", e);
+        }
+    }
+
+    /**
+     * Work which is queued once every tick
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RepeatingWork implements Runnable {
+        private final WorkPriority priority;
+        private final Runnable work;
+        @Setter
+        private boolean queued;
+
+        @Override
+        public void run() {
+            queued = false;
+            work.run();
+        }
+    }
+}
@@ -48,11 +48,12 @@ import io.mazenmc.menuapi.menu.ScrollingMenu;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.HandlerList;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 public final class MenuFactory {
@@ -123,11 +124,17 @@ public final class MenuFactory {
     }
 
     /**
-     * Disposes of the menu, reduces retention on the menu
+     * Disposes of the menu, closing it for anyone still viewing it
+     * <p>
+     * Menus hold no listeners of their own, so once closed the menu is free to be garbage collected.
      *
      * @param menu The menu you wish to dispose
      */
     public static void dispose(Menu menu) {
-        HandlerList.unregisterAll(menu);
+        menu.setSticky(false).setParent(null);
+
+        for (HumanEntity viewer : new ArrayList<>(menu.inventory().getViewers())) {
+            viewer.closeInventory();
+        }
     }
 }
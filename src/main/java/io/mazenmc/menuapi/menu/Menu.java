@@ -43,20 +43,20 @@ import io.mazenmc.menuapi.items.Item;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.Map;
 
-public class Menu implements Listener {
+public class Menu implements InventoryHolder {
     private static final JavaPlugin OWNER = JavaPlugin.getProvidingPlugin(Menu.class);
+
     protected Map<Integer, Item> items = new HashMap<>(); // map for quick lookup
     private String name;
     private int size;
@@ -69,8 +69,7 @@ public class Menu implements Listener {
         this.size = size;
         this.stickyMenu = sticky;
 
-        this.inventory = Bukkit.createInventory(null, size, this.name);
-        Bukkit.getPluginManager().registerEvents(this, OWNER);
+        this.inventory = Bukkit.createInventory(this, size, this.name);
     }
 
     public static Menu createMenu(String name, int size, boolean sticky) {
@@ -104,6 +103,11 @@ public class Menu implements Listener {
         return inventory;
     }
 
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+
     /**
      * Returns the item at specified index
      *
@@ -153,6 +157,17 @@ public class Menu implements Listener {
         return setItem(z * 9 + x, item);
     }
 
+    /**
+     * Copies every item of another menu (of the same size) into this menu, with a single inventory update
+     *
+     * @param template The menu to copy from
+     */
+    public Menu copyItems(Menu template) {
+        items.putAll(template.items);
+        inventory.setContents(template.inventory.getContents());
+        return this;
+    }
+
     /**
      * Sets the parent of the menu, used when the player exits the menu
      */
@@ -172,11 +187,7 @@ public class Menu implements Listener {
         }
     }
 
-    @EventHandler
-    public void onExit(InventoryCloseEvent event) {
-        if (!event.getInventory().equals(inventory))
-            return;
-
+    void onExit(InventoryCloseEvent event) {
         if (parent != null) {
             new BukkitRunnable() {
                 @Override
@@ -194,11 +205,7 @@ public class Menu implements Listener {
         }
     }
 
-    @EventHandler
-    public void onClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory))
-            return;
-
+    void onClick(InventoryClickEvent event) {
         if (event.getRawSlot() >= size && !event.getClick().isShiftClick())
             return;
 
@@ -212,11 +219,7 @@ public class Menu implements Listener {
         items.get(event.getSlot()).act((Player) event.getWhoClicked(), event.getClick());
     }
 
-    @EventHandler
-    public void onDrag(InventoryDragEvent event) {
-        if (!event.getInventory().equals(inventory))
-            return;
-
+    void onDrag(InventoryDragEvent event) {
         event.setCancelled(true);
     }
 
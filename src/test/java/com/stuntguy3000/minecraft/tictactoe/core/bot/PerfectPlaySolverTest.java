@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.stuntguy3000.minecraft.tictactoe.core.bot;
+
+import com.stuntguy3000.minecraft.tictactoe.core.objects.BoardGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerfectPlaySolverTest {
+
+    @Test
+    void drawsAgainstItself() {
+        PerfectPlaySolver solver = new PerfectPlaySolver();
+        BoardGrid grid = BoardGrid.of(3, 3);
+        long mover = 0;
+        long opponent = 0;
+
+        for (int turn = 0; turn < 9; turn++) {
+            int move = solver.getBestMove(mover, opponent);
+
+            assertTrue(move >= 0 && move < 9, "no move on turn " + turn);
+            assertEquals(0, (mover | opponent) & BoardGrid.getMask(move), "square already taken");
+
+            mover |= BoardGrid.getMask(move);
+            assertEquals(0, grid.findLine(mover), "won on turn " + turn);
+
+            long swap = mover;
+            mover = opponent;
+            opponent = swap;
+        }
+
+        assertEquals(-1, solver.getBestMove(mover, opponent));
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.stuntguy3000.minecraft.tictactoe.core.objects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardGridTest {
+
+    /**
+     * Lists every winning line of a shape the slow way, by walking each direction from each square
+     */
+    private static Set<Long> expectedLines(int size, int winLength) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        Set<Long> lines = new HashSet<>();
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                for (int[] direction : directions) {
+                    long line = 0;
+                    int length = 0;
+
+                    for (int r = row, c = column; length < winLength && r >= 0 && r < size && c >= 0 && c < size;
+                         r += direction[0], c += direction[1], length++) {
+                        line |= 1L << (r * size + c);
+                    }
+
+                    if (length == winLength) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+
+        return lines;
+    }
+
+    @ParameterizedTest
+    @CsvSource({"3, 3", "4, 3", "4, 4", "8, 3", "8, 5", "8, 8"})
+    void containsEveryLine(int size, int winLength) {
+        BoardGrid grid = BoardGrid.of(size, winLength);
+        Set<Long> lines = new HashSet<>();
+
+        for (int i = 0; i < grid.getLineCount(); i++) {
+            assertEquals(winLength, Long.bitCount(grid.getLine(i)));
+            assertTrue(lines.add(grid.getLine(i)), "duplicate line");
+        }
+
+        assertEquals(expectedLines(size, winLength), lines);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"3, 3", "4, 3", "4, 4", "8, 3", "8, 5", "8, 8"})
+    void findsEveryLine(int size, int winLength) {
+        BoardGrid grid = BoardGrid.of(size, winLength);
+
+        for (long line : expectedLines(size, winLength)) {
+            assertEquals(line, grid.findLine(line));
+
+            for (int cell = 0; cell < size * size; cell++) {
+                if ((line & BoardGrid.getMask(cell)) != 0) {
+                    assertEquals(line, grid.findLine(line, cell));
+                    assertEquals(0, grid.findLine(line & ~BoardGrid.getMask(cell)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedShapes() {
+        assertFalse(BoardGrid.isValid(2, 2));
+        assertFalse(BoardGrid.isValid(9, 3));
+        assertFalse(BoardGrid.isValid(4, 5));
+        assertFalse(BoardGrid.isValid(4, BoardGrid.MIN_WIN_LENGTH - 1));
+        assertThrows(IllegalArgumentException.class, () -> BoardGrid.of(9, 3));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.stuntguy3000.minecraft.tictactoe.core.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplateTest {
+
+    private static void assertRendersLikeFormat(String format, Object... args) {
+        assertEquals(String.format(format, args), MessageTemplate.of(format).render(args), format);
+    }
+
+    @Test
+    void rendersLikeStringFormat() {
+        assertRendersLikeFormat("No placeholders");
+        assertRendersLikeFormat("%s", "only");
+        assertRendersLikeFormat("Hello %s!", "stuntguy3000");
+        assertRendersLikeFormat("%s vs %s", "one", "two");
+        assertRendersLikeFormat("Board %d of %d", 3, 12);
+        assertRendersLikeFormat("%d", -7);
+        assertRendersLikeFormat("100%% done");
+        assertRendersLikeFormat("%s won %d%% of games%%", "Steve", 50);
+        assertRendersLikeFormat("§a%s §7joined", "Alex");
+        assertRendersLikeFormat("null: %s", (Object) null);
+    }
+
+    @Test
+    void fallsBackToStringFormat() {
+        assertRendersLikeFormat("%5d|%-4s|", 42, "ab");
+        assertRendersLikeFormat("%s and %s", "too", "many", "args");
+    }
+}
@@ -21,38 +21,36 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 package com.stuntguy3000.minecraft.tictactoe.core.util;
 
-public class ArrayUtil {
+import org.junit.jupiter.api.Test;
 
-    /**
-     * Tests if all elements in an array are identical
-     * <p>
-     * Adapted from https://stackoverflow.com/questions/21170608/in-java-how-can-i-test-if-an-array-contains-the-same-value
-     *
-     * @param acceptNull boolean true to accept null objects for comparison, false to instant-reject the array
-     * @param array      array the input array
-     * @return true if identical
-     */
-    public static boolean testIfElementsIdentical(boolean acceptNull, Object... array) {
-        boolean isFirstElementNull = array[0] == null;
-        for (int i = 1; i < array.length; i++) {
-            if (isFirstElementNull) {
-                if (!acceptNull) {
-                    return false;
-                }
+import static org.junit.jupiter.api.Assertions.*;
 
-                if (array[i] != null) {
-                    return false;
-                }
-            } else {
-                if (!array[0].equals(array[i])) {
-                    return false;
+class BlockKeyUtilTest {
+
+    @Test
+    void roundTripsBlockKeys() {
+        int[] horizontal = {0, 1, -1, 15, -16, 29_999_999, -30_000_000};
+        int[] vertical = {0, 1, -1, -64, 319, 2047, -2048};
+
+        for (int x : horizontal) {
+            for (int y : vertical) {
+                for (int z : horizontal) {
+                    long key = BlockKeyUtil.getBlockKey(x, y, z);
+
+                    assertEquals(x, BlockKeyUtil.getBlockX(key));
+                    assertEquals(y, BlockKeyUtil.getBlockY(key));
+                    assertEquals(z, BlockKeyUtil.getBlockZ(key));
                 }
             }
         }
+    }
 
-        return true;
+    @Test
+    void separatesNeighbouringBlocks() {
+        assertNotEquals(BlockKeyUtil.getBlockKey(-1, 64, 0), BlockKeyUtil.getBlockKey(0, 64, -1));
+        assertNotEquals(BlockKeyUtil.getBlockKey(0, -1, 0), BlockKeyUtil.getBlockKey(0, 0, -1));
+        assertNotEquals(BlockKeyUtil.getChunkKey(-1, 0), BlockKeyUtil.getChunkKey(0, -1));
     }
 }
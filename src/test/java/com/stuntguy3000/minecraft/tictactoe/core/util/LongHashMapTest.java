@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Luke Anderson (stuntguy3000)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.stuntguy3000.minecraft.tictactoe.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashMapTest {
+    private static final int CAPACITY = 32; // The capacity of a default LongHashMap
+
+    // Mirrors LongHashMap's hash, to pick keys which collide at the end of the table
+    private static int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (CAPACITY - 1);
+    }
+
+    private static List<Long> keysInSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+
+        for (long key = -1000; keys.size() < count; key++) {
+            if (slot(key) == slot) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+
+    @Test
+    void removesFromWrappedCluster() {
+        // Four keys homed in the last slot, plus one in the first: the cluster runs 31, 0, 1, 2, 3
+        List<Long> keys = keysInSlot(CAPACITY - 1, 4);
+        keys.add(keysInSlot(0, 1).get(0));
+
+        for (long first : keys) {
+            LongHashMap<String> map = new LongHashMap<>();
+
+            for (long key : keys) {
+                assertNull(map.put(key, "v" + key));
+            }
+
+            assertEquals("v" + first, map.remove(first));
+            assertNull(map.get(first));
+            assertFalse(map.containsKey(first));
+            assertEquals(keys.size() - 1, map.size());
+
+            for (long key : keys) {
+                if (key != first) {
+                    assertEquals("v" + key, map.get(key), "lost " + key + " after removing " + first);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(42);
+        LongHashMap<Integer> map = new LongHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(64) - 32;
+            int value = random.nextInt();
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = -32; key < 32; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}